@@ -0,0 +1,73 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging;
+
+import static com.alcatrazescapee.tinkersforging.common.capability.CapabilityForgeItem.MAX_TEMPERATURE;
+import static com.alcatrazescapee.tinkersforging.common.tile.TileCharcoalForge.FUEL_TICKS_MAX;
+
+/**
+ * Values derived from {@link ModConfig}, so hot paths don't need to cast and combine the config values.
+ * Rebuilt whenever the config is loaded or changed.
+ */
+public final class DerivedConfig
+{
+    public static final float CHARCOAL_FORGE_OPEN_FACTOR = 0.35f;
+    // Target ranges are cached for tiers 0 to this. Tiers outside this range are computed on demand
+    private static final int MAX_TIER = 5;
+
+    public static float temperatureModifier;
+    public static float forgeTemperatureModifier;
+    public static float charcoalForgeTemperatureModifier;
+    public static float charcoalForgeOpenMaxTemperature;
+    public static int charcoalForgeFuelTicks;
+
+    private static int[] targetRanges = new int[MAX_TIER + 1];
+    private static volatile int configVersion;
+
+    static
+    {
+        rebuild();
+    }
+
+    public static void rebuild()
+    {
+        temperatureModifier = (float) ModConfig.BALANCE.temperatureModifier;
+        forgeTemperatureModifier = (float) ModConfig.BALANCE.forgeTemperatureModifier;
+        charcoalForgeTemperatureModifier = (float) ModConfig.BALANCE.charcoalForgeTemperatureModifier;
+        charcoalForgeOpenMaxTemperature = MAX_TEMPERATURE * CHARCOAL_FORGE_OPEN_FACTOR;
+        charcoalForgeFuelTicks = (int) (FUEL_TICKS_MAX * ModConfig.BALANCE.charcoalForgeFuelModifier);
+
+        int[] ranges = new int[MAX_TIER + 1];
+        for (int tier = 0; tier <= MAX_TIER; tier++)
+        {
+            ranges[tier] = computeTargetRange(tier);
+        }
+        targetRanges = ranges;
+        configVersion++;
+    }
+
+    /**
+     * The range that the work needs to be within the target for a recipe of this tier to complete
+     */
+    public static int getTargetRange(int tier)
+    {
+        return tier >= 0 && tier <= MAX_TIER ? targetRanges[tier] : computeTargetRange(tier);
+    }
+
+    /**
+     * Incremented on each rebuild, so values copied elsewhere can be checked for changes
+     */
+    public static int getConfigVersion()
+    {
+        return configVersion;
+    }
+
+    private static int computeTargetRange(int tier)
+    {
+        return ModConfig.BALANCE.forgeTargetRange + (MAX_TIER - tier) * ModConfig.BALANCE.forgeTierRangeMod;
+    }
+}
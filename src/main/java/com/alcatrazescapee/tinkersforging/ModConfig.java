@@ -52,6 +52,16 @@ public final class ModConfig
         @Config.Comment({"This is a way to force Tinker's Forging to recognize other materials from other mods if they don't automatically get found.", "WARNING: This can cause broken recipes / items if you use it incorrectly. Only use it if you know what you are doing."})
         public String[] forceEnabledMetals = {};
 
+        @Config.Name("Anvil Action Rate")
+        @Config.RangeDouble(min = 0, max = 1000)
+        @Config.Comment({"How many anvil actions (hammer steps, recipe cycling) each player can send per second, on average. Actions over the limit are dropped.", "Set to 0 to disable the limit."})
+        public double anvilPacketRate = 10;
+
+        @Config.Name("Anvil Action Burst")
+        @Config.RangeInt(min = 1, max = 1000)
+        @Config.Comment("How many anvil actions each player can send at once, before the rate limit applies.")
+        public int anvilPacketBurst = 20;
+
         private GeneralConfig() {}
     }
 
@@ -11,6 +11,7 @@ import net.minecraft.block.properties.IProperty;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.SoundEvents;
 import net.minecraft.item.Item;
@@ -27,15 +28,18 @@ import net.minecraftforge.common.config.ConfigManager;
 import net.minecraftforge.event.AttachCapabilitiesEvent;
 import net.minecraftforge.event.RegistryEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.client.event.ConfigChangedEvent;
 import net.minecraftforge.fml.common.Loader;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.Optional;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import net.minecraftforge.oredict.OreDictionary;
 
 import com.alcatrazescapee.alcatrazcore.AlcatrazCore;
 import com.alcatrazescapee.alcatrazcore.util.CoreHelpers;
@@ -45,7 +49,11 @@ import com.alcatrazescapee.tinkersforging.common.blocks.BlockCharcoalPile;
 import com.alcatrazescapee.tinkersforging.common.blocks.ModBlocks;
 import com.alcatrazescapee.tinkersforging.common.capability.CapabilityForgeItem;
 import com.alcatrazescapee.tinkersforging.common.capability.IForgeItem;
+import com.alcatrazescapee.tinkersforging.common.network.AnvilPacketLimiter;
+import com.alcatrazescapee.tinkersforging.common.network.PacketAnvilRecipeTable;
 import com.alcatrazescapee.tinkersforging.common.recipe.ModRecipes;
+import com.alcatrazescapee.tinkersforging.common.tile.ForgeMeltScheduler;
+import com.alcatrazescapee.tinkersforging.common.tile.ForgeTickManager;
 import com.alcatrazescapee.tinkersforging.integration.PatchouliIntegration;
 import com.alcatrazescapee.tinkersforging.integration.TinkersIntegration;
 import com.alcatrazescapee.tinkersforging.util.TickTimer;
@@ -87,6 +95,7 @@ public final class ModEventHandler
         if (event.getModID().equals(MOD_ID))
         {
             ConfigManager.sync(MOD_ID, Config.Type.INSTANCE);
+            DerivedConfig.rebuild();
 
             if (Loader.isModLoaded("patchouli"))
             {
@@ -119,13 +128,74 @@ public final class ModEventHandler
         }
     }
 
+    @SubscribeEvent
+    public static void onOreRegister(OreDictionary.OreRegisterEvent event)
+    {
+        // Heat registries match on ore names, so cached results may be stale
+        CapabilityForgeItem.clearHeatRegistryCache();
+    }
+
+    @SubscribeEvent
+    public static void onWorldLoad(WorldEvent.Load event)
+    {
+        // Chunks may load before the first world tick, and loaded forges restart heating at the current tick
+        TickTimer.update(event.getWorld());
+    }
+
+    @SubscribeEvent
+    public static void onWorldSave(WorldEvent.Save event)
+    {
+        if (!event.getWorld().isRemote && event.getWorld().provider.getDimension() == 0)
+        {
+            TinkersForging.getLog().debug("Forge saves: {} marked dirty, {} skipped", ForgeTickManager.getSavesMarked(), ForgeTickManager.getSavesSkipped());
+            AnvilPacketLimiter.logTotals();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event)
+    {
+        if (!event.getWorld().isRemote)
+        {
+            ForgeMeltScheduler.onWorldUnload(event.getWorld());
+            ForgeTickManager.onWorldUnload(event.getWorld());
+        }
+    }
+
     @SubscribeEvent
     public static void onWorldTick(TickEvent.WorldTickEvent event)
     {
         if (event.phase == TickEvent.Phase.START)
         {
-            TickTimer.update(event.world.getTotalWorldTime());
+            TickTimer.update(event.world);
+        }
+        else if (!event.world.isRemote)
+        {
+            ForgeMeltScheduler.onWorldTickEnd(event.world);
+            ForgeTickManager.onWorldTickEnd(event.world);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event)
+    {
+        if (event.player instanceof EntityPlayerMP)
+        {
+            AnvilPacketLimiter.add(event.player);
+            // Sync the anvil recipe table, so recipe updates only need to send an index
+            TinkersForging.getNetwork().sendTo(new PacketAnvilRecipeTable(ModRecipes.ANVIL.getAll()), (EntityPlayerMP) event.player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event)
+    {
+        final long dropped = AnvilPacketLimiter.getDropped(event.player);
+        if (dropped > 0)
+        {
+            TinkersForging.getLog().info("Dropped {} anvil actions from {} over the rate limit", dropped, event.player.getName());
         }
+        AnvilPacketLimiter.remove(event.player);
     }
 
     @SubscribeEvent
@@ -134,7 +204,7 @@ public final class ModEventHandler
     {
         if (event.phase == TickEvent.Phase.START && !Minecraft.getMinecraft().isGamePaused() && Minecraft.getMinecraft().player != null)
         {
-            TickTimer.update(AlcatrazCore.getProxy().getClientWorld().getTotalWorldTime());
+            TickTimer.update(AlcatrazCore.getProxy().getClientWorld());
         }
     }
 
@@ -24,7 +24,10 @@ import com.alcatrazescapee.tinkersforging.common.blocks.ModBlocks;
 import com.alcatrazescapee.tinkersforging.common.capability.CapabilityForgeItem;
 import com.alcatrazescapee.tinkersforging.common.items.ModItems;
 import com.alcatrazescapee.tinkersforging.common.network.PacketAnvilButton;
+import com.alcatrazescapee.tinkersforging.common.network.PacketAnvilRecipeTable;
 import com.alcatrazescapee.tinkersforging.common.network.PacketAnvilRecipeUpdate;
+import com.alcatrazescapee.tinkersforging.common.network.PacketAnvilSteps;
+import com.alcatrazescapee.tinkersforging.common.network.PacketContainerFields;
 import com.alcatrazescapee.tinkersforging.common.network.PacketUpdateForgeItem;
 import com.alcatrazescapee.tinkersforging.common.recipe.ModRecipes;
 import com.alcatrazescapee.tinkersforging.integration.PatchouliIntegration;
@@ -88,10 +91,14 @@ public final class TinkersForging
         network.registerMessage(new PacketAnvilButton.Handler(), PacketAnvilButton.class, ++id, Side.SERVER);
         network.registerMessage(new PacketAnvilRecipeUpdate.Handler(), PacketAnvilRecipeUpdate.class, ++id, Side.CLIENT);
         network.registerMessage(new PacketUpdateForgeItem.Handler(), PacketUpdateForgeItem.class, ++id, Side.CLIENT);
+        network.registerMessage(new PacketAnvilRecipeTable.Handler(), PacketAnvilRecipeTable.class, ++id, Side.CLIENT);
+        network.registerMessage(new PacketContainerFields.Handler(), PacketContainerFields.class, ++id, Side.CLIENT);
+        network.registerMessage(new PacketAnvilSteps.Handler(), PacketAnvilSteps.class, ++id, Side.SERVER);
 
         NetworkRegistry.INSTANCE.registerGuiHandler(this, new ModGuiHandler());
 
         // Pre-Init Managers
+        DerivedConfig.rebuild(); // Config values are loaded by now
         MaterialRegistry.preInit(); // Setup materials first
         CapabilityForgeItem.preInit(); // Setup heat registry - after materials
         ModBlocks.preInit(); // Setup blocks and items - after materials
@@ -105,7 +112,7 @@ public final class TinkersForging
             log.warn("You are not running an official build. This version will NOT be supported by the author.");
 
         // Reset timer
-        TickTimer.update(0L);
+        TickTimer.reset();
 
         // Special Mod Integration
         if (Loader.isModLoaded("patchouli"))
@@ -16,6 +16,7 @@ import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 import net.minecraftforge.fml.client.registry.ClientRegistry;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -26,6 +27,7 @@ import com.alcatrazescapee.tinkersforging.common.capability.CapabilityForgeItem;
 import com.alcatrazescapee.tinkersforging.common.capability.IForgeItem;
 import com.alcatrazescapee.tinkersforging.common.items.ItemHammer;
 import com.alcatrazescapee.tinkersforging.common.items.ItemToolHead;
+import com.alcatrazescapee.tinkersforging.common.network.ForgeItemCodec;
 import com.alcatrazescapee.tinkersforging.common.tile.TileTinkersAnvil;
 import com.alcatrazescapee.tinkersforging.util.material.MaterialType;
 
@@ -44,7 +46,7 @@ public final class ClientEventHandler
         IForgeItem cap = event.getItemStack().getCapability(CapabilityForgeItem.CAPABILITY, null);
         if (cap != null)
         {
-            if (cap.getWork() != IForgeItem.DEFAULT_WORK || cap.getRecipeName() != null || cap.getTemperature() >= 1f)
+            if (cap.getWork() != IForgeItem.DEFAULT_WORK || cap.getRecipeId() != IForgeItem.NO_RECIPE || cap.getTemperature() >= 1f)
             {
                 event.getToolTip().add(GREEN + I18n.format(MOD_ID + ".tooltip.has_been_worked"));
                 cap.addTooltipInfo(event.getToolTip());
@@ -52,6 +54,14 @@ public final class ClientEventHandler
         }
     }
 
+    @SubscribeEvent
+    @SideOnly(Side.CLIENT)
+    public static void onClientConnectedToServer(FMLNetworkEvent.ClientConnectedToServerEvent event)
+    {
+        // The server keeps a new forge item codec for each connection
+        ForgeItemCodec.resetClient();
+    }
+
     @SubscribeEvent
     @SideOnly(Side.CLIENT)
     public static void registerModels(ModelRegistryEvent event)
@@ -0,0 +1,127 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.resources.I18n;
+import net.minecraft.client.resources.IReloadableResourceManager;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import com.alcatrazescapee.tinkersforging.DerivedConfig;
+import com.alcatrazescapee.tinkersforging.ModConfig;
+import com.alcatrazescapee.tinkersforging.common.capability.heat.Heat;
+
+import static com.alcatrazescapee.tinkersforging.TinkersForging.MOD_ID;
+
+/**
+ * Caches the formatted temperature tooltip lines, as they are rebuilt every frame for hovered items.
+ * Lines are keyed by everything they show. The cache is cleared on resource reload (which includes language changes) and config changes.
+ */
+@SideOnly(Side.CLIENT)
+@ParametersAreNonnullByDefault
+public final class TemperatureTooltipCache
+{
+    private static final int STATE_NONE = 0;
+    private static final int STATE_WORKABLE = 1;
+    private static final int STATE_DANGER = 2;
+    private static final long ADVANCED = 1L << 62;
+    private static final int MAX_SIZE = 4096;
+
+    private static final Map<Long, String> CACHE = new HashMap<>();
+    private static int configVersion = -1;
+
+    static
+    {
+        ((IReloadableResourceManager) Minecraft.getMinecraft().getResourceManager()).registerReloadListener(manager -> CACHE.clear());
+    }
+
+    @Nonnull
+    public static String getTooltip(float temperature, float workingTemperature, float meltingTemperature)
+    {
+        if (configVersion != DerivedConfig.getConfigVersion() || CACHE.size() >= MAX_SIZE)
+        {
+            CACHE.clear();
+            configVersion = DerivedConfig.getConfigVersion();
+        }
+
+        final int state;
+        if (workingTemperature < temperature && temperature <= meltingTemperature)
+        {
+            state = temperature > 0.8 * (meltingTemperature - workingTemperature) + workingTemperature ? STATE_DANGER : STATE_WORKABLE;
+        }
+        else
+        {
+            state = STATE_NONE;
+        }
+
+        final boolean isAdvanced = ModConfig.BALANCE.enableAdvancedTemperatureTooltips;
+        final long key;
+        if (isAdvanced)
+        {
+            // The line shows the temperature, and either the melting or working temperature
+            final int shownTemperature = (int) (state == STATE_NONE ? workingTemperature : meltingTemperature);
+            key = ADVANCED | ((long) state << 48) | (((long) (int) temperature & 0xFFFF) << 32) | (shownTemperature & 0xFFFFFFFFL);
+        }
+        else
+        {
+            final Heat heat = Heat.getHeat(temperature);
+            key = (heat.ordinal() << 8) | (heat.getStars(temperature) << 2) | state;
+        }
+
+        String tooltip = CACHE.get(key);
+        if (tooltip == null)
+        {
+            tooltip = isAdvanced ? buildAdvancedTooltip(temperature, workingTemperature, meltingTemperature, state) : buildTooltip(temperature, state);
+            CACHE.put(key, tooltip);
+        }
+        return tooltip;
+    }
+
+    private static String buildAdvancedTooltip(float temperature, float workingTemperature, float meltingTemperature, int state)
+    {
+        // Temperature number
+        String tooltip = Heat.getColorFor(temperature) + I18n.format(MOD_ID + ".tooltip.temperature_advanced", (int) temperature);
+        if (state != STATE_NONE)
+        {
+            // Danger / Workable tag
+            tooltip += getStateTag(state);
+
+            // Melts at number
+            tooltip += I18n.format(MOD_ID + ".tooltip.temperature_melts_at_advanced", (int) meltingTemperature);
+        }
+        else
+        {
+            // Workable at number
+            tooltip += TextFormatting.WHITE + I18n.format(MOD_ID + ".tooltip.temperature_works_at_advanced", (int) workingTemperature);
+        }
+        return tooltip;
+    }
+
+    private static String buildTooltip(float temperature, int state)
+    {
+        // Temperature color
+        String tooltip = Heat.getTooltipFor(temperature);
+        if (state != STATE_NONE)
+        {
+            // Danger / Workable tag
+            tooltip += getStateTag(state);
+        }
+        return tooltip;
+    }
+
+    private static String getStateTag(int state)
+    {
+        return TextFormatting.WHITE + I18n.format(MOD_ID + (state == STATE_DANGER ? ".tooltip.temperature_danger" : ".tooltip.temperature_can_work"));
+    }
+}
@@ -13,7 +13,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import com.alcatrazescapee.alcatrazcore.client.gui.GuiContainerTileCore;
-import com.alcatrazescapee.tinkersforging.ModConfig;
+import com.alcatrazescapee.tinkersforging.DerivedConfig;
 import com.alcatrazescapee.tinkersforging.common.tile.TileCharcoalForge;
 
 import static com.alcatrazescapee.tinkersforging.TinkersForging.MOD_ID;
@@ -43,7 +43,7 @@ public class GuiCharcoalForge extends GuiContainerTileCore<TileCharcoalForge>
         if (fuelTicksRemaining > 0 && tile.getWorld().getBlockState(tile.getPos()).getValue(LIT))
         {
             // Draw burn time
-            int burnTime = (int) Math.round(14 * fuelTicksRemaining / (FUEL_TICKS_MAX * ModConfig.BALANCE.charcoalForgeFuelModifier));
+            int burnTime = (int) Math.round(14 * fuelTicksRemaining / (double) DerivedConfig.charcoalForgeFuelTicks);
             drawTexturedModalRect(x + 80, y + 56 - burnTime, 176, 14 - burnTime, 14, burnTime);
         }
 
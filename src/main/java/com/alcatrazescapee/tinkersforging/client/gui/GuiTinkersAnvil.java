@@ -144,15 +144,8 @@ public class GuiTinkersAnvil extends GuiContainerTileCore<TileTinkersAnvil>
         // Handle gui buttons being clicked here
         if (button instanceof GuiButtonTinkersAnvil)
         {
+            // Recipe cycling is handled on server, and the new recipe is synced back
             TinkersForging.getNetwork().sendToServer(new PacketAnvilButton(button.id));
-            if (button.id == 8)
-            {
-                tile.cycleForgeRecipe(false);
-            }
-            else if (button.id == 9)
-            {
-                tile.cycleForgeRecipe(true);
-            }
         }
         super.actionPerformed(button);
     }
@@ -8,9 +8,12 @@ package com.alcatrazescapee.tinkersforging.common.capability;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.util.EnumFacing;
@@ -22,7 +25,7 @@ import net.minecraftforge.event.AttachCapabilitiesEvent;
 
 import com.alcatrazescapee.alcatrazcore.inventory.ingredient.IRecipeIngredient;
 import com.alcatrazescapee.alcatrazcore.network.capability.CapabilityContainerListenerManager;
-import com.alcatrazescapee.tinkersforging.ModConfig;
+import com.alcatrazescapee.tinkersforging.DerivedConfig;
 import com.alcatrazescapee.tinkersforging.common.capability.heat.IHeatRegistry;
 import com.alcatrazescapee.tinkersforging.common.capability.heat.IngredientHeatRegistry;
 import com.alcatrazescapee.tinkersforging.common.container.ContainerListenerForgeItem;
@@ -45,6 +48,10 @@ public final class CapabilityForgeItem
     private static final List<IHeatRegistry> HEAT_REGISTRY = new ArrayList<>();
     private static final IHeatRegistry DEFAULT = new IHeatRegistry.Impl();
 
+    // Cache of (item, meta) -> heat registry, for stacks without NBT. Stacks are created on the network thread as well, hence concurrent
+    private static final Map<Long, IHeatRegistry> HEAT_REGISTRY_CACHE = new ConcurrentHashMap<>();
+    private static final IHeatRegistry NO_HEAT_REGISTRY = new IHeatRegistry.Impl();
+
     public static void preInit()
     {
         // Register Capability
@@ -65,7 +72,7 @@ public final class CapabilityForgeItem
         IForgeItem cap = stack.getCapability(CapabilityForgeItem.CAPABILITY, null);
         if (cap != null)
         {
-            if (cap.getRecipeName() == null || cap.getWork() == IForgeItem.DEFAULT_WORK)
+            if (cap.getRecipeId() == IForgeItem.NO_RECIPE || cap.getWork() == IForgeItem.DEFAULT_WORK)
             {
                 cap.reset();
             }
@@ -77,10 +84,19 @@ public final class CapabilityForgeItem
      */
     public static void addTemp(IForgeItem cap, float modifier)
     {
-        final float temp = cap.getTemperature() + modifier * (float) ModConfig.BALANCE.temperatureModifier;
+        final float temp = cap.getTemperature() + modifier * DerivedConfig.temperatureModifier;
         cap.setTemperature(temp > MAX_TEMPERATURE ? MAX_TEMPERATURE : temp);
     }
 
+    /**
+     * Starts heating an item in a forge, whose temperature moves towards a maximum at the given modifier per tick.
+     * This is equivalent to calling {@link CapabilityForgeItem#addTemp(IForgeItem, float)} with (1 + modifier) every tick the item is cooler than the forge
+     */
+    public static void startHeating(IForgeItem cap, float modifier, float forgeTemperature, float forgeMaxTemperature)
+    {
+        cap.setHeating(modifier * DerivedConfig.temperatureModifier, forgeTemperature, Math.min(forgeMaxTemperature, MAX_TEMPERATURE), modifier);
+    }
+
     /**
      * Use this to register a special heat application (the capability will take priority over default ones)
      *
@@ -91,21 +107,48 @@ public final class CapabilityForgeItem
     public static void registerStackCapability(IRecipeIngredient ingredient, float workingTemperature, float meltingTemperature)
     {
         HEAT_REGISTRY.add(new IngredientHeatRegistry(ingredient, workingTemperature, meltingTemperature));
+        clearHeatRegistryCache();
+    }
+
+    /**
+     * Called when the inputs to the heat registry may have changed, i.e. new ore dictionary entries
+     */
+    public static void clearHeatRegistryCache()
+    {
+        HEAT_REGISTRY_CACHE.clear();
     }
 
     /**
      * Adds capabilities to an item stack based on the item -> capability registry
      */
     public static void addCapabilityToStack(AttachCapabilitiesEvent<ItemStack> event, ItemStack stack)
+    {
+        IHeatRegistry r;
+        if (stack.hasTagCompound())
+        {
+            r = getHeatRegistry(stack);
+        }
+        else
+        {
+            r = HEAT_REGISTRY_CACHE.computeIfAbsent(((long) Item.getIdFromItem(stack.getItem()) << 32) | (stack.getMetadata() & 0xFFFFFFFFL), k -> getHeatRegistry(stack));
+        }
+
+        if (r != NO_HEAT_REGISTRY)
+        {
+            event.addCapability(KEY, new ForgeItem(stack.getTagCompound(), r.getWorkTemp(), r.getMeltTemp()));
+        }
+    }
+
+    private static IHeatRegistry getHeatRegistry(ItemStack stack)
     {
         for (IHeatRegistry r : HEAT_REGISTRY)
         {
             if (r.test(stack))
             {
-                event.addCapability(KEY, new ForgeItem(stack.getTagCompound(), r.getWorkTemp(), r.getMeltTemp()));
-                return;
+                return r;
             }
         }
+        return NO_HEAT_REGISTRY;
     }
 
     // This is not for usage; it will not do anything.
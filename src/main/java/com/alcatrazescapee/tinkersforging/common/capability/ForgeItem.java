@@ -14,7 +14,7 @@ import net.minecraft.util.EnumFacing;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.ICapabilitySerializable;
 
-import com.alcatrazescapee.tinkersforging.ModConfig;
+import com.alcatrazescapee.tinkersforging.DerivedConfig;
 import com.alcatrazescapee.tinkersforging.common.recipe.AnvilRecipe;
 import com.alcatrazescapee.tinkersforging.util.TickTimer;
 import com.alcatrazescapee.tinkersforging.util.forge.ForgeStep;
@@ -25,23 +25,36 @@ import static com.alcatrazescapee.tinkersforging.common.capability.CapabilityFor
 
 public class ForgeItem implements IForgeItem, ICapabilitySerializable<NBTTagCompound>
 {
-    private final ForgeSteps steps;
+    // Most stacks with this capability are never worked, so the steps are only created when needed
+    private static final ForgeSteps EMPTY_STEPS = new ForgeSteps();
+
+    private ForgeSteps steps;
     private final float meltingTemperature;
     private final float workingTemperature;
     private int work;
-    private String recipeName;
+    private long recipeId;
     // These are the values from last point of update. They are updated when read from NBT, or when the temperature is set manually.
     private float temperature;
     private long lastUpdateTick;
+    // The heating segment starting at the last update, or null. It may be shared with copies of this item, but only ended by the item that started it
+    private HeatingSegment segment;
+    private boolean ownsSegment;
+    // The last serialized NBT, until something changes
+    private NBTTagCompound cachedNbt;
 
     public ForgeItem(@Nullable NBTTagCompound nbt, float workingTemperature, float meltingTemperature)
     {
-        this.steps = new ForgeSteps();
         this.work = DEFAULT_WORK;
+        this.recipeId = NO_RECIPE;
+        this.lastUpdateTick = -1;
         this.meltingTemperature = meltingTemperature;
         this.workingTemperature = workingTemperature;
 
-        deserializeNBT(nbt);
+        // Only read the stack NBT if it actually contains forging data
+        if (nbt != null && nbt.hasKey("work"))
+        {
+            deserializeNBT(nbt);
+        }
     }
 
     public ForgeItem(@Nullable NBTTagCompound nbt)
@@ -64,63 +77,164 @@ public class ForgeItem implements IForgeItem, ICapabilitySerializable<NBTTagComp
     public void setWork(int work)
     {
         this.work = work;
+        cachedNbt = null;
     }
 
     @Override
-    @Nullable
-    public String getRecipeName()
+    public long getRecipeId()
     {
-        return recipeName;
+        return recipeId;
     }
 
     @Override
     public void setRecipe(@Nullable AnvilRecipe recipe)
     {
-        recipeName = (recipe == null ? null : recipe.getName());
+        recipeId = (recipe == null ? NO_RECIPE : recipe.getId());
+        cachedNbt = null;
     }
 
     @Override
     @Nonnull
     public ForgeSteps getSteps()
     {
+        if (steps == null)
+        {
+            steps = new ForgeSteps();
+        }
         return steps;
     }
 
+    @Override
+    public int getPackedSteps()
+    {
+        return steps == null ? 0 : steps.getPacked();
+    }
+
     @Override
     public void addStep(ForgeStep step)
     {
-        steps.addStep(step);
+        getSteps().addStep(step);
         work += step.getStepAmount();
+        cachedNbt = null;
     }
 
     @Override
     public void reset()
     {
         // Note: this will only reset the non-temperature part of this capability
-        steps.reset();
-        recipeName = null;
+        if (steps != null)
+        {
+            steps.reset();
+        }
+        recipeId = NO_RECIPE;
         work = DEFAULT_WORK;
+        cachedNbt = null;
     }
 
     @Override
     public float getTemperature()
     {
-        if (lastUpdateTick == -1)
+        return getTemperatureAt(TickTimer.getTicks());
+    }
+
+    @Override
+    public void setTemperature(float temperature)
+    {
+        endSegment();
+        this.temperature = temperature;
+        this.lastUpdateTick = TickTimer.getTicks();
+        this.cachedNbt = null;
+    }
+
+    @Override
+    public void setHeating(float rate, float sourceTemperature, float sourceTarget, float sourceRate)
+    {
+        final float temp = getTemperature();
+        endSegment();
+        this.temperature = temp;
+        this.lastUpdateTick = TickTimer.getTicks();
+        this.segment = HeatingSegment.create(rate, sourceTemperature, sourceTarget, sourceRate);
+        this.ownsSegment = true;
+        this.cachedNbt = null;
+    }
+
+    @Override
+    public void stopHeating()
+    {
+        if (segment != null)
         {
-            return 0;
+            setTemperature(getTemperature());
         }
-        else
+    }
+
+    @Override
+    public void stopHeatingAt(long tick)
+    {
+        if (segment != null)
         {
-            final float newTemp = temperature - (float) (TickTimer.getTicks() - lastUpdateTick) * (float) ModConfig.BALANCE.temperatureModifier;
-            return newTemp < 0 ? 0 : newTemp;
+            final float temp = getTemperatureAt(Math.max(tick, lastUpdateTick));
+            if (ownsSegment && segment.isActive())
+            {
+                // Copies sharing the segment also stop at the saved tick
+                segment.end(Math.max(tick, lastUpdateTick));
+            }
+            segment = null;
+            ownsSegment = false;
+            temperature = temp;
+            lastUpdateTick = TickTimer.getTicks();
+            cachedNbt = null;
         }
     }
 
     @Override
-    public void setTemperature(float temperature)
+    public long getTicksUntilMolten()
     {
-        this.temperature = temperature;
-        this.lastUpdateTick = TickTimer.getTicks();
+        final float temp = getTemperature();
+        if (temp > meltingTemperature)
+        {
+            return 0;
+        }
+        if (segment == null || !segment.isActive())
+        {
+            // Items only melt while being heated
+            return -1;
+        }
+
+        // The interval in which the source is above the melting temperature, from the current tick
+        final float source = segment.getSourceTemperature((float) (TickTimer.getTicks() - lastUpdateTick));
+        final float sourceTarget = segment.sourceTarget;
+        final float sourceRate = segment.sourceRate;
+        final float sourceStart, sourceEnd;
+        if (source < sourceTarget)
+        {
+            if (sourceTarget <= meltingTemperature)
+            {
+                return -1;
+            }
+            sourceStart = source < meltingTemperature ? (meltingTemperature - source) / sourceRate : 0;
+            sourceEnd = Float.POSITIVE_INFINITY;
+        }
+        else
+        {
+            if (source <= meltingTemperature)
+            {
+                return -1;
+            }
+            sourceStart = 0;
+            sourceEnd = sourceTarget > meltingTemperature ? Float.POSITIVE_INFINITY : (source - meltingTemperature) / sourceRate;
+        }
+
+        float ticks = sourceStart;
+        if (temp <= source)
+        {
+            // Heating, so the item also needs to reach the melting temperature. Otherwise it is cooling towards the source
+            ticks = Math.max(ticks, (meltingTemperature - temp) / segment.rate);
+        }
+        if (Float.isInfinite(ticks) || ticks > sourceEnd)
+        {
+            return -1;
+        }
+        return (long) Math.ceil(ticks);
     }
 
     @Override
@@ -149,20 +263,116 @@ public class ForgeItem implements IForgeItem, ICapabilitySerializable<NBTTagComp
         return hasCapability(capability, facing) ? (T) this : null;
     }
 
+    /**
+     * The returned NBT may be shared between calls, so must not be modified
+     */
     @Override
     public NBTTagCompound serializeNBT()
+    {
+        if (lastUpdateTick != -1 && (segment == null || !segment.isActive()) && getTemperature() == 0)
+        {
+            // Fully cooled down, so this should match an item which was never heated
+            temperature = 0;
+            lastUpdateTick = -1;
+            segment = null;
+            ownsSegment = false;
+            cachedNbt = null;
+        }
+        if (cachedNbt != null && segment != null && !segment.isActive() && !cachedNbt.hasKey("heatEnd"))
+        {
+            // A shared segment was ended by the item that started it
+            cachedNbt = null;
+        }
+        if (cachedNbt == null)
+        {
+            // The temperature is computed from the last update and the heating segment, so those are saved instead of the current temperature
+            cachedNbt = writeNBT();
+        }
+        return cachedNbt;
+    }
+
+    @Override
+    public void deserializeNBT(@Nullable NBTTagCompound nbt)
+    {
+        if (nbt != null)
+        {
+            work = nbt.getInteger("work");
+            if (nbt.hasKey("recipeId"))
+            {
+                recipeId = nbt.getLong("recipeId");
+            }
+            else if (nbt.hasKey("recipe"))
+            {
+                // Legacy format, which stored the full recipe name
+                recipeId = AnvilRecipe.getIdFor(nbt.getString("recipe"));
+            }
+            else
+            {
+                recipeId = NO_RECIPE;
+            }
+            NBTTagCompound stepsNbt = nbt.getCompoundTag("steps");
+            if (steps != null || stepsNbt.hasKey("last"))
+            {
+                getSteps().deserializeNBT(stepsNbt);
+            }
+
+            // Replacing an active segment ends it, unless this is the same segment
+            final HeatingSegment previous = ownsSegment ? segment : null;
+            final long previousTick = TickTimer.getTicks();
+
+            temperature = nbt.getFloat("temp");
+            lastUpdateTick = nbt.getLong("tick");
+            segment = readSegment(nbt);
+            if (previous != null)
+            {
+                if (previous == segment)
+                {
+                    ownsSegment = true;
+                }
+                else if (previous.isActive())
+                {
+                    previous.end(previousTick);
+                }
+            }
+            cachedNbt = null;
+        }
+    }
+
+    private float getTemperatureAt(long now)
+    {
+        if (lastUpdateTick == -1)
+        {
+            return 0;
+        }
+        float temp = temperature;
+        long tick = lastUpdateTick;
+        if (segment != null)
+        {
+            final long endTick = segment.getEndTick();
+            if (endTick == -1 || now <= endTick)
+            {
+                return segment.getTemperature(temperature, (float) (now - lastUpdateTick), DerivedConfig.temperatureModifier);
+            }
+            // The segment has ended, so this cools down from the temperature at the end
+            temp = segment.getTemperature(temperature, (float) (endTick - lastUpdateTick), DerivedConfig.temperatureModifier);
+            tick = endTick;
+        }
+        final float cooledTemp = temp - (float) (now - tick) * DerivedConfig.temperatureModifier;
+        return cooledTemp < 0 ? 0 : cooledTemp;
+    }
+
+    private NBTTagCompound writeNBT()
     {
         NBTTagCompound nbt = new NBTTagCompound();
 
         nbt.setInteger("work", work);
-        nbt.setTag("steps", steps.serializeNBT());
-        if (recipeName != null)
+        nbt.setTag("steps", (steps == null ? EMPTY_STEPS : steps).serializeNBT());
+        if (recipeId != NO_RECIPE)
         {
-            nbt.setString("recipe", recipeName);
+            nbt.setLong("recipeId", recipeId);
         }
 
-        float temperature = getTemperature();
-        if (temperature == 0)
+        if (lastUpdateTick == -1)
         {
             nbt.setFloat("temp", 0);
             nbt.setLong("tick", -1);
@@ -170,22 +380,62 @@ public class ForgeItem implements IForgeItem, ICapabilitySerializable<NBTTagComp
         else
         {
             nbt.setFloat("temp", temperature);
-            nbt.setLong("tick", TickTimer.getTicks());
+            nbt.setLong("tick", lastUpdateTick);
+            if (segment != null)
+            {
+                nbt.setLong("heatId", segment.id);
+                nbt.setFloat("heatRate", segment.rate);
+                nbt.setFloat("srcTemp", segment.sourceTemperature);
+                nbt.setFloat("srcTarget", segment.sourceTarget);
+                nbt.setFloat("srcRate", segment.sourceRate);
+                if (!segment.isActive())
+                {
+                    nbt.setLong("heatEnd", segment.getEndTick());
+                }
+            }
         }
         return nbt;
     }
 
-    @Override
-    public void deserializeNBT(@Nullable NBTTagCompound nbt)
+    @Nullable
+    private HeatingSegment readSegment(NBTTagCompound nbt)
     {
-        if (nbt != null)
+        ownsSegment = false;
+        if (lastUpdateTick == -1 || !nbt.hasKey("heatRate"))
         {
-            work = nbt.getInteger("work");
-            recipeName = nbt.hasKey("recipe") ? nbt.getString("recipe") : null; // stops defaulting to empty string
-            steps.deserializeNBT(nbt.getCompoundTag("steps"));
+            return null;
+        }
+        final long id = nbt.getLong("heatId");
+        final float rate = nbt.getFloat("heatRate");
+        final float sourceTemperature = nbt.getFloat("srcTemp");
+        final float sourceTarget = nbt.getFloat("srcTarget");
+        final float sourceRate = nbt.getFloat("srcRate");
+        final long endTick = nbt.hasKey("heatEnd") ? nbt.getLong("heatEnd") : -1;
+        if (TickTimer.isClientThread() || endTick != -1)
+        {
+            // The client is sent the end of the segment when it happens, and ended segments never change
+            return new HeatingSegment(id, rate, sourceTemperature, sourceTarget, sourceRate, endTick);
+        }
+        HeatingSegment shared = HeatingSegment.get(id);
+        if (shared == null)
+        {
+            // Saved while heating. The forge holding this stops it at the tick it was saved at, when it loads
+            ownsSegment = true;
+            return HeatingSegment.register(id, rate, sourceTemperature, sourceTarget, sourceRate);
+        }
+        return shared;
+    }
 
-            temperature = nbt.getFloat("temp");
-            lastUpdateTick = nbt.getLong("tick");
+    /**
+     * Ends the heating segment, if this item started it, and detaches it from this item
+     */
+    private void endSegment()
+    {
+        if (segment != null && ownsSegment && segment.isActive())
+        {
+            segment.end(TickTimer.getTicks());
         }
+        segment = null;
+        ownsSegment = false;
     }
 }
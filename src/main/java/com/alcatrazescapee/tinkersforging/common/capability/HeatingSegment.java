@@ -0,0 +1,121 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.common.capability;
+
+import java.util.Map;
+import java.util.Random;
+import javax.annotation.Nullable;
+
+import com.google.common.collect.MapMaker;
+
+/**
+ * A period of heating in a forge. The item heats at a constant rate, but not above the heat source, which moves linearly towards a target.
+ * Segments are saved with the item, so they are only synced when the heating changes, and the client computes the temperature in between.
+ * On server, items read from NBT share the segment with the same id, so copies made while heating stop heating when the original is removed from the forge.
+ */
+final class HeatingSegment
+{
+    // Segments are only held by the items heated by them
+    private static final Map<Long, HeatingSegment> SEGMENTS = new MapMaker().weakValues().makeMap();
+    private static final Random RANDOM = new Random();
+
+    /**
+     * Starts a new segment, with a new id
+     */
+    static HeatingSegment create(float rate, float sourceTemperature, float sourceTarget, float sourceRate)
+    {
+        long id;
+        do
+        {
+            id = RANDOM.nextLong();
+        }
+        while (SEGMENTS.containsKey(id));
+        return register(id, rate, sourceTemperature, sourceTarget, sourceRate);
+    }
+
+    @Nullable
+    static HeatingSegment get(long id)
+    {
+        return SEGMENTS.get(id);
+    }
+
+    static HeatingSegment register(long id, float rate, float sourceTemperature, float sourceTarget, float sourceRate)
+    {
+        HeatingSegment segment = new HeatingSegment(id, rate, sourceTemperature, sourceTarget, sourceRate, -1);
+        SEGMENTS.put(id, segment);
+        return segment;
+    }
+
+    final long id;
+    final float rate;
+    final float sourceTemperature;
+    final float sourceTarget;
+    final float sourceRate;
+    // The tick this segment ended at, or -1 while heating
+    private long endTick;
+
+    /**
+     * Creates a segment which is not shared. Used on client, and for segments which have already ended
+     */
+    HeatingSegment(long id, float rate, float sourceTemperature, float sourceTarget, float sourceRate, long endTick)
+    {
+        this.id = id;
+        this.rate = rate;
+        this.sourceTemperature = sourceTemperature;
+        this.sourceTarget = sourceTarget;
+        this.sourceRate = sourceRate;
+        this.endTick = endTick;
+    }
+
+    boolean isActive()
+    {
+        return endTick == -1;
+    }
+
+    long getEndTick()
+    {
+        return endTick;
+    }
+
+    /**
+     * Ended segments stay registered while held, so late copies of an item also see the end
+     */
+    void end(long tick)
+    {
+        endTick = tick;
+    }
+
+    /**
+     * @param temperature the item temperature at the start of this segment
+     * @param ticks       the ticks since the start of this segment
+     * @param coolRate    the temperature lost per tick, when hotter than the source
+     */
+    float getTemperature(float temperature, float ticks, float coolRate)
+    {
+        final float source = getSourceTemperature(ticks);
+        if (temperature <= sourceTemperature)
+        {
+            // Heats up until it reaches the source
+            final float heatedTemp = temperature + ticks * rate;
+            return heatedTemp < source ? heatedTemp : source;
+        }
+        // Started hotter than the source, so cools down until it reaches it
+        final float cooledTemp = temperature - ticks * coolRate;
+        return cooledTemp > source ? cooledTemp : source;
+    }
+
+    float getSourceTemperature(float ticks)
+    {
+        if (sourceTemperature < sourceTarget)
+        {
+            final float source = sourceTemperature + ticks * sourceRate;
+            return source < sourceTarget ? source : sourceTarget;
+        }
+        final float source = sourceTemperature - ticks * sourceRate;
+        return source > sourceTarget ? source : sourceTarget;
+    }
+}
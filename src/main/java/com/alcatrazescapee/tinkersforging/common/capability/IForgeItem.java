@@ -10,21 +10,16 @@ import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import net.minecraft.client.resources.I18n;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.util.text.TextFormatting;
 import net.minecraftforge.common.util.INBTSerializable;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-import com.alcatrazescapee.tinkersforging.ModConfig;
-import com.alcatrazescapee.tinkersforging.common.capability.heat.Heat;
+import com.alcatrazescapee.tinkersforging.client.TemperatureTooltipCache;
 import com.alcatrazescapee.tinkersforging.common.recipe.AnvilRecipe;
 import com.alcatrazescapee.tinkersforging.util.forge.ForgeStep;
 import com.alcatrazescapee.tinkersforging.util.forge.ForgeSteps;
 
-import static com.alcatrazescapee.tinkersforging.TinkersForging.MOD_ID;
-
 public interface IForgeItem extends INBTSerializable<NBTTagCompound>
 {
     // Work / Forging Related
@@ -33,18 +28,27 @@ public interface IForgeItem extends INBTSerializable<NBTTagCompound>
     int MAX_WORK = 150;
     int DEFAULT_WORK = MAX_WORK / 2;
 
+    long NO_RECIPE = 0;
+
     int getWork();
 
     void setWork(int work);
 
-    @Nullable
-    String getRecipeName();
+    /**
+     * @return the id of the current recipe (see {@link AnvilRecipe#getId()}), or {@link IForgeItem#NO_RECIPE}
+     */
+    long getRecipeId();
 
     void setRecipe(@Nullable AnvilRecipe recipe);
 
     @Nonnull
     ForgeSteps getSteps();
 
+    /**
+     * @return the packed steps (see {@link ForgeSteps#getPacked()}), without creating the steps if this item has none
+     */
+    int getPackedSteps();
+
     void addStep(ForgeStep step);
 
     void reset();
@@ -53,12 +57,46 @@ public interface IForgeItem extends INBTSerializable<NBTTagCompound>
 
     float getTemperature();
 
+    /**
+     * Sets the temperature at the current tick. This also stops any heating
+     */
     void setTemperature(float temperature);
 
+    /**
+     * Starts heating from the current temperature, which is then computed on read, on both sides.
+     * The item heats at a constant rate, but never above the heat source. The source temperature moves linearly towards a target.
+     * Copies of this item share the heating, until this item stops heating or starts heating again.
+     *
+     * @param rate              the temperature gained per tick
+     * @param sourceTemperature the current temperature of the heat source
+     * @param sourceTarget      the temperature the heat source is moving towards
+     * @param sourceRate        the change in the source temperature per tick
+     */
+    void setHeating(float rate, float sourceTemperature, float sourceTarget, float sourceRate);
+
+    /**
+     * Stops heating, if heating. The item will then cool down as normal
+     */
+    void stopHeating();
+
+    /**
+     * Stops heating, if heating, and keeps the temperature this item had at an earlier tick. Used by forges when they load, as they don't heat or cool while unloaded
+     *
+     * @param tick the tick the item was saved at
+     */
+    void stopHeatingAt(long tick);
+
     float getMeltingTemperature();
 
     float getWorkableTemperature();
 
+    /**
+     * Predicts when this item will melt, assuming nothing changes
+     *
+     * @return the number of ticks until this item is molten, or -1 if it will not melt
+     */
+    long getTicksUntilMolten();
+
     default boolean isMolten()
     {
         return getMeltingTemperature() < getTemperature();
@@ -75,42 +113,6 @@ public interface IForgeItem extends INBTSerializable<NBTTagCompound>
         float temp = getTemperature();
         if (temp < 1f) return;
 
-        String tooltip;
-        if (ModConfig.BALANCE.enableAdvancedTemperatureTooltips)
-        {
-            // Temperature number
-            tooltip = Heat.getColorFor(temp) + I18n.format(MOD_ID + ".tooltip.temperature_advanced", (int) temp);
-            if (isWorkable())
-            {
-                // Danger / Workable tag
-                if (temp > 0.8 * (getMeltingTemperature() - getWorkableTemperature()) + getWorkableTemperature())
-                    tooltip += TextFormatting.WHITE + I18n.format(MOD_ID + ".tooltip.temperature_danger");
-                else
-                    tooltip += TextFormatting.WHITE + I18n.format(MOD_ID + ".tooltip.temperature_can_work");
-
-                // Melts at number
-                tooltip += I18n.format(MOD_ID + ".tooltip.temperature_melts_at_advanced", (int) getMeltingTemperature());
-            }
-            else
-            {
-                // Workable at number
-                tooltip += TextFormatting.WHITE + I18n.format(MOD_ID + ".tooltip.temperature_works_at_advanced", (int) getWorkableTemperature());
-            }
-        }
-        else
-        {
-            // Temperature color
-            tooltip = Heat.getTooltipFor(temp);
-
-            if (isWorkable())
-            {
-                // Danger / Workable tag
-                if (temp > 0.8 * (getMeltingTemperature() - getWorkableTemperature()) + getWorkableTemperature())
-                    tooltip += TextFormatting.WHITE + I18n.format(MOD_ID + ".tooltip.temperature_danger");
-                else
-                    tooltip += TextFormatting.WHITE + I18n.format(MOD_ID + ".tooltip.temperature_can_work");
-            }
-        }
-        tooltips.add(tooltip);
+        tooltips.add(TemperatureTooltipCache.getTooltip(temp, getWorkableTemperature(), getMeltingTemperature()));
     }
 }
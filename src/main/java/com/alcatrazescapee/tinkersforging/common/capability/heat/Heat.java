@@ -29,47 +29,82 @@ public enum Heat
     WHITE(1350f, 1499f, TextFormatting.WHITE),
     BRILLIANT_WHITE(1500f, Float.MAX_VALUE, TextFormatting.WHITE);
 
+    // Indexed by the temperature rounded down, which is enough as all band limits are whole degrees
+    private static final Heat[] BY_DEGREE = new Heat[1500];
+
+    static
+    {
+        for (int i = 0; i < BY_DEGREE.length; i++)
+        {
+            final float temperature = i;
+            BY_DEGREE[i] = Arrays.stream(values())
+                    .filter(x -> x.min <= temperature && temperature < x.max)
+                    .findFirst()
+                    .orElse(BRILLIANT_WHITE);
+        }
+    }
+
+    @Nonnull
+    public static Heat getHeat(float temperature)
+    {
+        return temperature >= 0 && temperature < BY_DEGREE.length ? BY_DEGREE[(int) temperature] : BRILLIANT_WHITE;
+    }
+
     public static String getColorFor(float temperature)
     {
-        Heat heat = Arrays.stream(values())
-                .filter(x -> x.min <= temperature && temperature < x.max)
-                .findFirst()
-                .orElse(BRILLIANT_WHITE);
-        return "" + heat.format;
+        return getHeat(temperature).color;
     }
 
     @Nonnull
     @SideOnly(Side.CLIENT)
     public static String getTooltipFor(float temperature)
     {
-        Heat heat = Arrays.stream(values())
-                .filter(x -> x.min <= temperature && temperature < x.max)
-                .findFirst()
-                .orElse(BRILLIANT_WHITE);
-
-        StringBuilder b = new StringBuilder();
-        b.append(I18n.format(MOD_ID + ".tooltip.temperature_" + heat.name().toLowerCase()));
-        if (heat != BRILLIANT_WHITE)
-        {
-            for (int i = 1; i <= 4; i++)
-            {
-                if (temperature <= heat.min + ((float) i * 0.2f) * (heat.max - heat.min))
-                    continue;
-                b.append("\u2605");
-            }
-        }
-        return heat.format + b.toString();
+        Heat heat = getHeat(temperature);
+        return heat.getTooltip(heat.getStars(temperature));
     }
 
     private final float min;
     private final float max;
     private final TextFormatting format;
+    private final String color;
 
     Heat(float min, float max, TextFormatting format)
     {
         this.min = min;
         this.max = max;
         this.format = format;
+        this.color = format.toString();
+    }
+
+    /**
+     * @return the number of stars (0 - 4) shown in the tooltip, for how far through this heat the temperature is
+     */
+    public int getStars(float temperature)
+    {
+        int stars = 0;
+        if (this != BRILLIANT_WHITE)
+        {
+            for (int i = 1; i <= 4; i++)
+            {
+                if (temperature > min + ((float) i * 0.2f) * (max - min))
+                    stars++;
+            }
+        }
+        return stars;
+    }
+
+    @Nonnull
+    @SideOnly(Side.CLIENT)
+    public String getTooltip(int stars)
+    {
+        StringBuilder b = new StringBuilder();
+        b.append(format);
+        b.append(I18n.format(MOD_ID + ".tooltip.temperature_" + name().toLowerCase()));
+        for (int i = 0; i < stars; i++)
+        {
+            b.append("\u2605");
+        }
+        return b.toString();
     }
 
     public boolean inRange(float temperature)
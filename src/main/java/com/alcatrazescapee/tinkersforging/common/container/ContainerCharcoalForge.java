@@ -12,16 +12,24 @@ import net.minecraftforge.items.IItemHandler;
 
 import com.alcatrazescapee.alcatrazcore.inventory.container.ContainerTileInventory;
 import com.alcatrazescapee.alcatrazcore.inventory.slot.SlotTileCore;
+import com.alcatrazescapee.tinkersforging.DerivedConfig;
 import com.alcatrazescapee.tinkersforging.common.tile.TileCharcoalForge;
 
-import static com.alcatrazescapee.tinkersforging.common.tile.TileCharcoalForge.SLOT_INPUT_MAX;
-import static com.alcatrazescapee.tinkersforging.common.tile.TileCharcoalForge.SLOT_INPUT_MIN;
+import static com.alcatrazescapee.tinkersforging.common.capability.CapabilityForgeItem.MAX_TEMPERATURE;
+import static com.alcatrazescapee.tinkersforging.common.tile.TileCharcoalForge.*;
 
 public class ContainerCharcoalForge extends ContainerTileInventory<TileCharcoalForge>
 {
+    private final ContainerFieldSync fieldSync;
+
     public ContainerCharcoalForge(InventoryPlayer playerInv, TileCharcoalForge tile)
     {
         super(playerInv, tile);
+
+        // Only sync the fuel and temperature when the gui bars change
+        fieldSync = new ContainerFieldSync(this, tile)
+                .withDisplay(FIELD_FUEL, value -> ContainerFieldSync.getBarSize(value, 14, DerivedConfig.charcoalForgeFuelTicks))
+                .withDisplay(FIELD_TEMPERATURE, value -> ContainerFieldSync.getBarSize(value, 30, MAX_TEMPERATURE));
     }
 
     @Override
@@ -39,6 +47,6 @@ public class ContainerCharcoalForge extends ContainerTileInventory<TileCharcoalF
     public void detectAndSendChanges()
     {
         detectAndSendAllChanges();
-        detectAndSendFieldChanges();
+        fieldSync.detectAndSendChanges(listeners);
     }
 }
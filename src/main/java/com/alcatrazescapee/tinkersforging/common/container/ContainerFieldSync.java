@@ -0,0 +1,128 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.common.container;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.inventory.Container;
+import net.minecraft.inventory.IContainerListener;
+
+import com.alcatrazescapee.alcatrazcore.tile.ITileFields;
+import com.alcatrazescapee.tinkersforging.TinkersForging;
+import com.alcatrazescapee.tinkersforging.common.network.PacketContainerFields;
+
+/**
+ * Sends the changed fields of a container's tile to each viewer, as one packet per tick, instead of a window property packet per field.
+ * Fields can have a display function, in which case they are only sent when the value shown in the gui changes.
+ */
+@ParametersAreNonnullByDefault
+public final class ContainerFieldSync
+{
+    /**
+     * The size of a gui bar, in pixels. Zero is kept separate, as guis often check it
+     */
+    public static int getBarSize(int value, int pixels, float max)
+    {
+        return value <= 0 || max <= 0 ? 0 : 1 + Math.round(pixels * value / max);
+    }
+
+    private final Container container;
+    private final ITileFields tile;
+    private final IntUnaryOperator[] displays;
+    // The last values sent, after the display function
+    private final int[] sentDisplays;
+    private final List<EntityPlayerMP> syncedPlayers;
+    // Reused between ticks
+    private final int[] changedIndices;
+    private final int[] changedValues;
+    private boolean hasSent;
+
+    public ContainerFieldSync(Container container, ITileFields tile)
+    {
+        final int count = tile.getFieldCount();
+        this.container = container;
+        this.tile = tile;
+        this.displays = new IntUnaryOperator[count];
+        this.sentDisplays = new int[count];
+        this.syncedPlayers = new ArrayList<>();
+        this.changedIndices = new int[count];
+        this.changedValues = new int[count];
+    }
+
+    public ContainerFieldSync withDisplay(int field, IntUnaryOperator display)
+    {
+        displays[field] = display;
+        return this;
+    }
+
+    /**
+     * Call from {@link Container#detectAndSendChanges()}, instead of sending each field as a window property
+     */
+    public void detectAndSendChanges(List<IContainerListener> listeners)
+    {
+        int changed = 0;
+        for (int i = 0; i < sentDisplays.length; i++)
+        {
+            final int value = tile.getField(i);
+            final int display = displays[i] == null ? value : displays[i].applyAsInt(value);
+            if (!hasSent || display != sentDisplays[i])
+            {
+                sentDisplays[i] = display;
+                changedIndices[changed] = i;
+                changedValues[changed] = value;
+                changed++;
+            }
+        }
+        hasSent = true;
+
+        PacketContainerFields changes = null;
+        PacketContainerFields all = null;
+        syncedPlayers.removeIf(player -> !listeners.contains(player));
+        for (IContainerListener listener : listeners)
+        {
+            if (listener instanceof EntityPlayerMP)
+            {
+                EntityPlayerMP player = (EntityPlayerMP) listener;
+                if (!syncedPlayers.contains(player))
+                {
+                    // New viewers need every field
+                    syncedPlayers.add(player);
+                    if (all == null)
+                    {
+                        all = createAll();
+                    }
+                    TinkersForging.getNetwork().sendTo(all, player);
+                }
+                else if (changed > 0)
+                {
+                    if (changes == null)
+                    {
+                        changes = new PacketContainerFields(container.windowId, changed, changedIndices, changedValues);
+                    }
+                    TinkersForging.getNetwork().sendTo(changes, player);
+                }
+            }
+        }
+    }
+
+    private PacketContainerFields createAll()
+    {
+        final int count = sentDisplays.length;
+        final int[] indices = new int[count];
+        final int[] values = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            indices[i] = i;
+            values[i] = tile.getField(i);
+        }
+        return new PacketContainerFields(container.windowId, count, indices, values);
+    }
+}
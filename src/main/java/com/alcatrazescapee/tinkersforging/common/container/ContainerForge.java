@@ -14,13 +14,21 @@ import com.alcatrazescapee.alcatrazcore.inventory.container.ContainerTileInvento
 import com.alcatrazescapee.alcatrazcore.inventory.slot.SlotTileCore;
 import com.alcatrazescapee.tinkersforging.common.tile.TileForge;
 
+import static com.alcatrazescapee.tinkersforging.common.capability.CapabilityForgeItem.MAX_TEMPERATURE;
 import static com.alcatrazescapee.tinkersforging.common.tile.TileForge.*;
 
 public class ContainerForge extends ContainerTileInventory<TileForge>
 {
+    private final ContainerFieldSync fieldSync;
+
     public ContainerForge(InventoryPlayer playerInv, TileForge tile)
     {
         super(playerInv, tile);
+
+        // Only sync the fuel and temperature when the gui bars change
+        fieldSync = new ContainerFieldSync(this, tile)
+                .withDisplay(FIELD_FUEL, value -> ContainerFieldSync.getBarSize(value, 14, tile.getField(FIELD_FUEL_MAX)))
+                .withDisplay(FIELD_TEMPERATURE, value -> ContainerFieldSync.getBarSize(value, 30, MAX_TEMPERATURE));
     }
 
     @Override
@@ -39,6 +47,6 @@ public class ContainerForge extends ContainerTileInventory<TileForge>
     public void detectAndSendChanges()
     {
         detectAndSendAllChanges();
-        detectAndSendFieldChanges();
+        fieldSync.detectAndSendChanges(listeners);
     }
 }
@@ -17,6 +17,7 @@ import com.alcatrazescapee.alcatrazcore.network.capability.CapabilityContainerLi
 import com.alcatrazescapee.tinkersforging.TinkersForging;
 import com.alcatrazescapee.tinkersforging.common.capability.CapabilityForgeItem;
 import com.alcatrazescapee.tinkersforging.common.capability.IForgeItem;
+import com.alcatrazescapee.tinkersforging.common.network.ForgeItemCodec;
 import com.alcatrazescapee.tinkersforging.common.network.PacketUpdateForgeItem;
 
 @ParametersAreNonnullByDefault
@@ -42,6 +43,11 @@ public class ContainerListenerForgeItem extends CapabilityContainerListener<IFor
     @Override
     protected void sendToPlayer(EntityPlayerMP player, PacketTContainerUpdate<IForgeItem, ?> packet)
     {
+        if (packet instanceof PacketUpdateForgeItem)
+        {
+            // Each packet is sent once, so it can be encoded against the last values sent to this player
+            ((PacketUpdateForgeItem) packet).setCodec(ForgeItemCodec.get(player));
+        }
         TinkersForging.getNetwork().sendTo(packet, player);
     }
 }
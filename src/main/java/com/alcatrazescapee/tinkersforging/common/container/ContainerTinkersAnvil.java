@@ -37,12 +37,20 @@ import static com.alcatrazescapee.tinkersforging.common.tile.TileTinkersAnvil.*;
 public class ContainerTinkersAnvil extends ContainerTileInventory<TileTinkersAnvil>
 {
     private final EntityPlayer player;
+    private final ContainerFieldSync fieldSync;
 
     public ContainerTinkersAnvil(EntityPlayer player, TileTinkersAnvil tile)
     {
         super(player.inventory, tile, 0, 56);
         this.player = player;
+        this.fieldSync = new ContainerFieldSync(this, tile);
         tile.setCurrentPlayer(player);
+
+        if (!player.world.isRemote)
+        {
+            // Validate the recipe against the input, as this is skipped when the anvil is loaded
+            tile.setAndUpdateSlots(SLOT_INPUT);
+        }
     }
 
     public void onReceivePacket(int buttonID)
@@ -62,6 +70,50 @@ public class ContainerTinkersAnvil extends ContainerTileInventory<TileTinkersAnv
         }
     }
 
+    /**
+     * Cycles the recipe by the net offset of several presses
+     */
+    public void onReceiveCycle(int offset)
+    {
+        tile.cycleForgeRecipe(offset);
+    }
+
+    /**
+     * Applies a sequence of steps in one go. The input and hammer are checked once, and the hammer is damaged once for all the steps applied
+     */
+    public void onReceiveSteps(ForgeStep[] sequence)
+    {
+        if (!canWork())
+            return;
+
+        // The hammer may break on the last step, the same as when applying single steps
+        ItemStack hammer = inventorySlots.get(SLOT_HAMMER).getStack();
+        final int durability = hammer.isItemStackDamageable() ? hammer.getMaxDamage() - hammer.getItemDamage() : Integer.MAX_VALUE;
+        int count = 0;
+        for (int damage = 0; count < sequence.length && damage <= durability; count++)
+        {
+            damage += getDamage(sequence[count]);
+        }
+
+        final int applied = tile.addSteps(sequence, count);
+        int damage = 0;
+        for (int i = 0; i < applied; i++)
+        {
+            damage += getDamage(sequence[i]);
+        }
+        if (damage > 0)
+        {
+            damageHammer(damage);
+        }
+    }
+
+    @Override
+    public void detectAndSendChanges()
+    {
+        detectAndSendAllChanges();
+        fieldSync.detectAndSendChanges(listeners);
+    }
+
     @Nonnull
     @Override
     public ItemStack transferStackInSlot(EntityPlayer player, int index)
@@ -136,6 +188,25 @@ public class ContainerTinkersAnvil extends ContainerTileInventory<TileTinkersAnv
     }
 
     private boolean attemptWork(int amount)
+    {
+        if (canWork())
+        {
+            damageHammer(amount);
+            return true;
+        }
+        return false;
+    }
+
+    private int getDamage(ForgeStep step)
+    {
+        // Matches the button ids, see onReceivePacket
+        return step.ordinal() % 4;
+    }
+
+    /**
+     * Checks the input can be worked, and that there is a hammer. Tells the player if not
+     */
+    private boolean canWork()
     {
         // This only runs on server
 
@@ -152,7 +223,7 @@ public class ContainerTinkersAnvil extends ContainerTileInventory<TileTinkersAnv
             return false;
 
         // A recipe must exist
-        AnvilRecipe recipe = ModRecipes.ANVIL.getByName(cap.getRecipeName());
+        AnvilRecipe recipe = ModRecipes.ANVIL.getById(cap.getRecipeId());
         if (recipe == null)
         {
             return false;
@@ -173,24 +244,26 @@ public class ContainerTinkersAnvil extends ContainerTileInventory<TileTinkersAnv
         if (slot == null)
             return false;
 
-        stack = slot.getStack();
-        if (!stack.isEmpty())
+        if (slot.getStack().isEmpty())
         {
-            stack.damageItem(amount, player);
-            if (stack.getCount() <= 0)
-            {
-                slot.putStack(ItemStack.EMPTY);
-            }
-            else
-            {
-                slot.putStack(stack);
-            }
-            return true;
+            player.sendMessage(new TextComponentString("" + TextFormatting.RED).appendSibling(new TextComponentTranslation(MOD_ID + ".tooltip.no_hammer")));
+            return false;
+        }
+        return true;
+    }
+
+    private void damageHammer(int amount)
+    {
+        Slot slot = inventorySlots.get(SLOT_HAMMER);
+        ItemStack stack = slot.getStack();
+        stack.damageItem(amount, player);
+        if (stack.getCount() <= 0)
+        {
+            slot.putStack(ItemStack.EMPTY);
         }
         else
         {
-            player.sendMessage(new TextComponentString("" + TextFormatting.RED).appendSibling(new TextComponentTranslation(MOD_ID + ".tooltip.no_hammer")));
-            return false;
+            slot.putStack(stack);
         }
     }
 }
\ No newline at end of file
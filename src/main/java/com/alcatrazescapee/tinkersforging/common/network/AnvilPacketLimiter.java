@@ -0,0 +1,182 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.common.network;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.entity.player.EntityPlayer;
+
+import com.alcatrazescapee.tinkersforging.ModConfig;
+import com.alcatrazescapee.tinkersforging.TinkersForging;
+
+/**
+ * Limits how many anvil actions each player can queue on the server thread, using a token bucket with a burst capacity.
+ * Actions over the limit are dropped. Recipe cycle presses are coalesced into a net offset while one is waiting to be handled, so they only cost a token when a new task is queued.
+ * This is called from the network thread, before the action is scheduled. Buckets only exist while the player is logged in, so actions from players without one are dropped.
+ */
+@ParametersAreNonnullByDefault
+public final class AnvilPacketLimiter
+{
+    // Coalesced cycle presses are applied one recipe at a time, so this limits the work done by a single task
+    private static final int MAX_CYCLE_OFFSET = 32;
+
+    private static final Map<UUID, Bucket> BUCKETS = new ConcurrentHashMap<>();
+    private static final AtomicLong TOTAL_DROPPED = new AtomicLong();
+    private static final AtomicLong TOTAL_COALESCED = new AtomicLong();
+
+    // The totals when they were last logged. Only used on the server thread
+    private static long loggedDropped = 0;
+    private static long loggedCoalesced = 0;
+
+    /**
+     * Takes a token for an action
+     *
+     * @return true if the action should be handled, false if it was dropped
+     */
+    public static boolean tryAcquire(EntityPlayer player)
+    {
+        Bucket bucket = getBucket(player);
+        return bucket != null && bucket.tryAcquire();
+    }
+
+    /**
+     * Adds a recipe cycle press
+     *
+     * @param direction +1 for forwards, -1 for backwards
+     * @return true if a new task needs to be scheduled, which should then call {@link AnvilPacketLimiter#takeCycleOffset(EntityPlayer)}
+     */
+    public static boolean addCycle(EntityPlayer player, int direction)
+    {
+        Bucket bucket = getBucket(player);
+        return bucket != null && bucket.addCycle(direction);
+    }
+
+    /**
+     * @return the net offset of the cycle presses since the task was scheduled
+     */
+    public static int takeCycleOffset(EntityPlayer player)
+    {
+        Bucket bucket = getBucket(player);
+        return bucket == null ? 0 : bucket.takeCycleOffset();
+    }
+
+    public static void add(EntityPlayer player)
+    {
+        BUCKETS.put(player.getUniqueID(), new Bucket());
+    }
+
+    public static void remove(EntityPlayer player)
+    {
+        BUCKETS.remove(player.getUniqueID());
+    }
+
+    public static long getTotalDropped()
+    {
+        return TOTAL_DROPPED.get();
+    }
+
+    public static long getTotalCoalesced()
+    {
+        return TOTAL_COALESCED.get();
+    }
+
+    /**
+     * @return the number of actions dropped for this player since they logged in
+     */
+    public static long getDropped(EntityPlayer player)
+    {
+        Bucket bucket = getBucket(player);
+        return bucket == null ? 0 : bucket.dropped;
+    }
+
+    /**
+     * Logs the totals, if they have changed since they were last logged
+     */
+    public static void logTotals()
+    {
+        final long dropped = TOTAL_DROPPED.get(), coalesced = TOTAL_COALESCED.get();
+        if (dropped != loggedDropped || coalesced != loggedCoalesced)
+        {
+            loggedDropped = dropped;
+            loggedCoalesced = coalesced;
+            TinkersForging.getLog().info("Anvil actions: {} dropped by the rate limit, {} cycle presses coalesced", dropped, coalesced);
+        }
+    }
+
+    @Nullable
+    private static Bucket getBucket(EntityPlayer player)
+    {
+        return BUCKETS.get(player.getUniqueID());
+    }
+
+    private static final class Bucket
+    {
+        private double tokens;
+        private long lastRefill;
+        private volatile long dropped;
+        private boolean isCyclePending;
+        private int cycleOffset;
+
+        private Bucket()
+        {
+            tokens = ModConfig.GENERAL.anvilPacketBurst;
+            lastRefill = System.nanoTime();
+        }
+
+        synchronized boolean tryAcquire()
+        {
+            final double rate = ModConfig.GENERAL.anvilPacketRate;
+            if (rate <= 0)
+            {
+                // No limit
+                return true;
+            }
+
+            final long now = System.nanoTime();
+            tokens = Math.min(ModConfig.GENERAL.anvilPacketBurst, tokens + rate * (now - lastRefill) / 1_000_000_000d);
+            lastRefill = now;
+            if (tokens >= 1)
+            {
+                tokens -= 1;
+                return true;
+            }
+            dropped++;
+            TOTAL_DROPPED.incrementAndGet();
+            return false;
+        }
+
+        synchronized boolean addCycle(int direction)
+        {
+            if (isCyclePending)
+            {
+                cycleOffset = Math.max(-MAX_CYCLE_OFFSET, Math.min(MAX_CYCLE_OFFSET, cycleOffset + direction));
+                TOTAL_COALESCED.incrementAndGet();
+                return false;
+            }
+            if (tryAcquire())
+            {
+                isCyclePending = true;
+                cycleOffset = direction;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized int takeCycleOffset()
+        {
+            final int offset = cycleOffset;
+            isCyclePending = false;
+            cycleOffset = 0;
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.common.network;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+
+import com.alcatrazescapee.tinkersforging.common.capability.IForgeItem;
+import com.alcatrazescapee.tinkersforging.util.forge.ForgeSteps;
+import io.netty.buffer.ByteBuf;
+
+import static com.alcatrazescapee.tinkersforging.common.capability.IForgeItem.DEFAULT_WORK;
+import static com.alcatrazescapee.tinkersforging.common.capability.IForgeItem.NO_RECIPE;
+
+/**
+ * Binary encoding of the forge item state sent to clients. Each entry is a mask of the fields which differ from a baseline, followed by only those fields.
+ * One codec is kept per connection on each side, holding the last entry written or read. Both sides handle the entries in the same order, so the baselines stay equal.
+ * Entries without a codec are written against the default state instead, and do not change the baseline.
+ */
+@ParametersAreNonnullByDefault
+public final class ForgeItemCodec
+{
+    private static final int FIELD_WORK = 1;
+    private static final int FIELD_STEPS = 1 << 1;
+    private static final int FIELD_RECIPE = 1 << 2;
+    private static final int FIELD_TEMPERATURE = 1 << 3;
+    private static final int FIELD_TICK = 1 << 4;
+    private static final int FIELD_HEATING = 1 << 5;
+    private static final int FIELD_HEAT_END = 1 << 6;
+    // Set when the entry is written against the connection baseline
+    private static final int DELTA = 1 << 7;
+
+    // Temperatures are sent in sixteenths of a degree
+    private static final float TEMPERATURE_SCALE = 16f;
+
+    private static final Entry DEFAULT = new Entry(DEFAULT_WORK, 0, NO_RECIPE, 0, -1, 0, 0, 0, 0, -1);
+
+    private static final Map<NetHandlerPlayServer, ForgeItemCodec> SERVER_CODECS = new WeakHashMap<>();
+    // Only used from the client network thread
+    private static final ForgeItemCodec CLIENT_CODEC = new ForgeItemCodec();
+
+    /**
+     * Gets the codec for a player's connection. Packets using this must be sent exactly once, to that player
+     */
+    @Nullable
+    public static ForgeItemCodec get(EntityPlayerMP player)
+    {
+        return player.connection == null ? null : SERVER_CODECS.computeIfAbsent(player.connection, key -> new ForgeItemCodec());
+    }
+
+    /**
+     * Called when the client connects to a server, as the server starts with a new codec
+     */
+    public static void resetClient()
+    {
+        CLIENT_CODEC.last = DEFAULT;
+    }
+
+    static void writeFull(ByteBuf buf, Entry entry)
+    {
+        write(buf, entry, DEFAULT, 0);
+    }
+
+    static Entry read(ByteBuf buf)
+    {
+        final int mask = buf.readUnsignedByte();
+        if ((mask & DELTA) != 0)
+        {
+            Entry entry = read(buf, CLIENT_CODEC.last, mask);
+            CLIENT_CODEC.last = entry;
+            return entry;
+        }
+        return read(buf, DEFAULT, mask);
+    }
+
+    private static void write(ByteBuf buf, Entry entry, Entry base, int flags)
+    {
+        int mask = flags;
+        if (entry.work != base.work) mask |= FIELD_WORK;
+        if (entry.steps != base.steps) mask |= FIELD_STEPS;
+        if (entry.recipeId != base.recipeId) mask |= FIELD_RECIPE;
+        if (entry.temperature != base.temperature) mask |= FIELD_TEMPERATURE;
+        if (entry.tick != base.tick) mask |= FIELD_TICK;
+        if (!entry.isSameHeating(base)) mask |= FIELD_HEATING;
+        if (entry.heatEnd != base.heatEnd) mask |= FIELD_HEAT_END;
+
+        buf.writeByte(mask);
+        if ((mask & FIELD_WORK) != 0)
+        {
+            writeVarLong(buf, zigZag(entry.work - base.work));
+        }
+        if ((mask & FIELD_STEPS) != 0)
+        {
+            buf.writeShort(entry.steps);
+        }
+        if ((mask & FIELD_RECIPE) != 0)
+        {
+            buf.writeLong(entry.recipeId);
+        }
+        if ((mask & FIELD_TEMPERATURE) != 0)
+        {
+            ByteBufUtils.writeVarInt(buf, entry.temperature, 5);
+        }
+        if ((mask & FIELD_TICK) != 0)
+        {
+            // Ticks are usually close to the previous entry, or -1 for items that were never heated
+            writeVarLong(buf, zigZag(entry.tick - base.tick));
+        }
+        if ((mask & FIELD_HEATING) != 0)
+        {
+            buf.writeFloat(entry.heatRate);
+            buf.writeFloat(entry.sourceTemperature);
+            buf.writeFloat(entry.sourceTarget);
+            buf.writeFloat(entry.sourceRate);
+        }
+        if ((mask & FIELD_HEAT_END) != 0)
+        {
+            writeVarLong(buf, zigZag(entry.heatEnd - entry.tick));
+        }
+    }
+
+    private static Entry read(ByteBuf buf, Entry base, int mask)
+    {
+        final int work = (mask & FIELD_WORK) != 0 ? base.work + (int) unZigZag(readVarLong(buf)) : base.work;
+        final int steps = (mask & FIELD_STEPS) != 0 ? buf.readUnsignedShort() : base.steps;
+        final long recipeId = (mask & FIELD_RECIPE) != 0 ? buf.readLong() : base.recipeId;
+        final int temperature = (mask & FIELD_TEMPERATURE) != 0 ? ByteBufUtils.readVarInt(buf, 5) : base.temperature;
+        final long tick = (mask & FIELD_TICK) != 0 ? base.tick + unZigZag(readVarLong(buf)) : base.tick;
+        final boolean heating = (mask & FIELD_HEATING) != 0;
+        final float heatRate = heating ? buf.readFloat() : base.heatRate;
+        final float sourceTemperature = heating ? buf.readFloat() : base.sourceTemperature;
+        final float sourceTarget = heating ? buf.readFloat() : base.sourceTarget;
+        final float sourceRate = heating ? buf.readFloat() : base.sourceRate;
+        final long heatEnd = (mask & FIELD_HEAT_END) != 0 ? tick + unZigZag(readVarLong(buf)) : base.heatEnd;
+        return new Entry(work, steps, recipeId, temperature, tick, heatRate, sourceTemperature, sourceTarget, sourceRate, heatEnd);
+    }
+
+    private static long zigZag(long value)
+    {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteBuf buf, long value)
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            buf.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf.writeByte((int) value);
+    }
+
+    private static long readVarLong(ByteBuf buf)
+    {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do
+        {
+            if (shift >= 64)
+            {
+                throw new IllegalArgumentException("Varlong too big");
+            }
+            b = buf.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        }
+        while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private Entry last = DEFAULT;
+
+    private ForgeItemCodec() {}
+
+    void write(ByteBuf buf, Entry entry)
+    {
+        write(buf, entry, last, DELTA);
+        last = entry;
+    }
+
+    /**
+     * A snapshot of the synced state of a forge item. The temperature is the last update point and heating segment rather than the current temperature, as the client computes that itself.
+     */
+    public static final class Entry
+    {
+        static Entry of(IForgeItem cap)
+        {
+            // Serialized NBT is cached while the item is not heating, and holds the last update point
+            final NBTTagCompound nbt = cap.serializeNBT();
+            final long tick = nbt.getLong("tick");
+            final int temperature = tick == -1 ? 0 : Math.round(nbt.getFloat("temp") * TEMPERATURE_SCALE);
+            final long heatEnd = nbt.hasKey("heatEnd") ? nbt.getLong("heatEnd") : -1;
+            return new Entry(cap.getWork(), cap.getPackedSteps(), cap.getRecipeId(), temperature, tick, nbt.getFloat("heatRate"), nbt.getFloat("srcTemp"), nbt.getFloat("srcTarget"), nbt.getFloat("srcRate"), heatEnd);
+        }
+
+        private final int work;
+        private final int steps;
+        private final long recipeId;
+        private final int temperature;
+        private final long tick;
+        // Zero rate when not heating
+        private final float heatRate;
+        private final float sourceTemperature;
+        private final float sourceTarget;
+        private final float sourceRate;
+        private final long heatEnd;
+
+        private Entry(int work, int steps, long recipeId, int temperature, long tick, float heatRate, float sourceTemperature, float sourceTarget, float sourceRate, long heatEnd)
+        {
+            this.work = work;
+            this.steps = steps;
+            this.recipeId = recipeId;
+            this.temperature = temperature;
+            this.tick = tick;
+            this.heatRate = heatRate;
+            this.sourceTemperature = sourceTemperature;
+            this.sourceTarget = sourceTarget;
+            this.sourceRate = sourceRate;
+            this.heatEnd = heatEnd;
+        }
+
+        private boolean isSameHeating(Entry other)
+        {
+            return heatRate == other.heatRate && sourceTemperature == other.sourceTemperature && sourceTarget == other.sourceTarget && sourceRate == other.sourceRate;
+        }
+
+        /**
+         * Converts this back to the capability NBT, which is then read by the client capability
+         */
+        NBTTagCompound toNBT()
+        {
+            NBTTagCompound nbt = new NBTTagCompound();
+            nbt.setInteger("work", work);
+            ForgeSteps forgeSteps = new ForgeSteps();
+            forgeSteps.setPacked(steps);
+            nbt.setTag("steps", forgeSteps.serializeNBT());
+            if (recipeId != NO_RECIPE)
+            {
+                nbt.setLong("recipeId", recipeId);
+            }
+            nbt.setFloat("temp", temperature / TEMPERATURE_SCALE);
+            nbt.setLong("tick", tick);
+            if (heatRate > 0)
+            {
+                nbt.setFloat("heatRate", heatRate);
+                nbt.setFloat("srcTemp", sourceTemperature);
+                nbt.setFloat("srcTarget", sourceTarget);
+                nbt.setFloat("srcRate", sourceRate);
+                if (heatEnd != -1)
+                {
+                    nbt.setLong("heatEnd", heatEnd);
+                }
+            }
+            return nbt;
+        }
+    }
+}
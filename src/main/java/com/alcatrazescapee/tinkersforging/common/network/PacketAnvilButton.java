@@ -48,7 +48,18 @@ public class PacketAnvilButton implements IMessage
             if (player.openContainer instanceof ContainerTinkersAnvil)
             {
                 ContainerTinkersAnvil container = (ContainerTinkersAnvil) player.openContainer;
-                AlcatrazCore.getProxy().getThreadListener(ctx).addScheduledTask(() -> container.onReceivePacket(message.buttonId));
+                if (message.buttonId == 8 || message.buttonId == 9)
+                {
+                    // Presses while one is waiting are added to its offset
+                    if (AnvilPacketLimiter.addCycle(player, message.buttonId == 9 ? 1 : -1))
+                    {
+                        AlcatrazCore.getProxy().getThreadListener(ctx).addScheduledTask(() -> container.onReceiveCycle(AnvilPacketLimiter.takeCycleOffset(player)));
+                    }
+                }
+                else if (AnvilPacketLimiter.tryAcquire(player))
+                {
+                    AlcatrazCore.getProxy().getThreadListener(ctx).addScheduledTask(() -> container.onReceivePacket(message.buttonId));
+                }
             }
             return null;
         }
@@ -0,0 +1,115 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.common.network;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+import com.alcatrazescapee.alcatrazcore.AlcatrazCore;
+import com.alcatrazescapee.tinkersforging.TinkersForging;
+import com.alcatrazescapee.tinkersforging.common.recipe.AnvilRecipe;
+import com.alcatrazescapee.tinkersforging.common.recipe.ModRecipes;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Sent to each player on login. Contains the full anvil recipe table (including CraftTweaker changes), which is then referred to by index in {@link PacketAnvilRecipeUpdate}
+ */
+public class PacketAnvilRecipeTable implements IMessage
+{
+    private List<AnvilRecipe> recipes;
+
+    @SuppressWarnings("unused")
+    public PacketAnvilRecipeTable() {}
+
+    public PacketAnvilRecipeTable(List<AnvilRecipe> recipes)
+    {
+        this.recipes = recipes;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        int size = ByteBufUtils.readVarInt(buf, 5);
+        byte[] compressed = new byte[ByteBufUtils.readVarInt(buf, 5)];
+        buf.readBytes(compressed);
+
+        byte[] data = new byte[size];
+        Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(compressed);
+            inflater.inflate(data);
+        }
+        catch (DataFormatException e)
+        {
+            TinkersForging.getLog().error("Unable to read anvil recipe table", e);
+            recipes = new ArrayList<>();
+            return;
+        }
+        finally
+        {
+            inflater.end();
+        }
+
+        ByteBuf buffer = Unpooled.wrappedBuffer(data);
+        int count = ByteBufUtils.readVarInt(buffer, 5);
+        recipes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            recipes.add(AnvilRecipe.fromSerialized(buffer));
+        }
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        ByteBuf buffer = Unpooled.buffer();
+        ByteBufUtils.writeVarInt(buffer, recipes.size(), 5);
+        for (AnvilRecipe recipe : recipes)
+        {
+            recipe.serialize(buffer);
+        }
+
+        byte[] data = new byte[buffer.readableBytes()];
+        buffer.readBytes(data);
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 4 + 16);
+        byte[] chunk = new byte[4096];
+        deflater.setInput(data);
+        deflater.finish();
+        while (!deflater.finished())
+        {
+            output.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+
+        ByteBufUtils.writeVarInt(buf, data.length, 5);
+        ByteBufUtils.writeVarInt(buf, output.size(), 5);
+        buf.writeBytes(output.toByteArray());
+    }
+
+    public static class Handler implements IMessageHandler<PacketAnvilRecipeTable, IMessage>
+    {
+        @Override
+        public IMessage onMessage(PacketAnvilRecipeTable message, MessageContext ctx)
+        {
+            AlcatrazCore.getProxy().getThreadListener(ctx).addScheduledTask(() -> ModRecipes.ANVIL.setClientRecipes(message.recipes));
+            return null;
+        }
+    }
+}
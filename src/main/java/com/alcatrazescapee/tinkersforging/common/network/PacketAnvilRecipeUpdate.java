@@ -8,20 +8,21 @@ package com.alcatrazescapee.tinkersforging.common.network;
 
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
 import com.alcatrazescapee.alcatrazcore.AlcatrazCore;
 import com.alcatrazescapee.alcatrazcore.util.CoreHelpers;
-import com.alcatrazescapee.tinkersforging.common.recipe.AnvilRecipe;
+import com.alcatrazescapee.tinkersforging.common.recipe.ModRecipes;
 import com.alcatrazescapee.tinkersforging.common.tile.TileTinkersAnvil;
 import io.netty.buffer.ByteBuf;
 
 public class PacketAnvilRecipeUpdate implements IMessage
 {
     private BlockPos pos;
-    private AnvilRecipe recipe;
+    private int recipeIndex;
 
     @SuppressWarnings("unused")
     public PacketAnvilRecipeUpdate() {}
@@ -29,27 +30,22 @@ public class PacketAnvilRecipeUpdate implements IMessage
     public PacketAnvilRecipeUpdate(TileTinkersAnvil tile)
     {
         this.pos = tile.getPos();
-        this.recipe = tile.getRecipe();
+        this.recipeIndex = ModRecipes.ANVIL.getNetworkIndex(tile.getRecipe());
     }
 
     @Override
     public void fromBytes(ByteBuf buffer)
     {
         pos = BlockPos.fromLong(buffer.readLong());
-        boolean isNotNull = buffer.readBoolean();
-        if (isNotNull)
-            recipe = AnvilRecipe.fromSerialized(buffer);
-        else
-            recipe = null;
+        // Shifted by one so that no recipe (-1) is still a single byte
+        recipeIndex = ByteBufUtils.readVarInt(buffer, 5) - 1;
     }
 
     @Override
     public void toBytes(ByteBuf buffer)
     {
         buffer.writeLong(pos.toLong());
-        buffer.writeBoolean(recipe != null);
-        if (recipe != null)
-            recipe.serialize(buffer);
+        ByteBufUtils.writeVarInt(buffer, recipeIndex + 1, 5);
     }
 
     public static class Handler implements IMessageHandler<PacketAnvilRecipeUpdate, IMessage>
@@ -63,7 +59,7 @@ public class PacketAnvilRecipeUpdate implements IMessage
                 TileTinkersAnvil tile = CoreHelpers.getTE(world, message.pos, TileTinkersAnvil.class);
                 if (tile != null)
                 {
-                    tile.setRecipe(message.recipe);
+                    tile.setRecipe(ModRecipes.ANVIL.getClientRecipe(message.recipeIndex));
                 }
             });
             return null;
@@ -0,0 +1,87 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.common.network;
+
+import java.util.List;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+import com.alcatrazescapee.alcatrazcore.AlcatrazCore;
+import com.alcatrazescapee.tinkersforging.common.container.ContainerTinkersAnvil;
+import com.alcatrazescapee.tinkersforging.util.forge.ForgeStep;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * An ordered sequence of steps to apply at the anvil, such as a recorded pattern. The server applies them all in one task, see {@link ContainerTinkersAnvil#onReceiveSteps(ForgeStep[])}
+ */
+public class PacketAnvilSteps implements IMessage
+{
+    // Enough to work any recipe from start to finish
+    public static final int MAX_STEPS = 64;
+
+    private ForgeStep[] steps;
+
+    @SuppressWarnings("unused")
+    public PacketAnvilSteps() {}
+
+    public PacketAnvilSteps(List<ForgeStep> steps)
+    {
+        this.steps = steps.subList(0, Math.min(steps.size(), MAX_STEPS)).toArray(new ForgeStep[0]);
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        final int count = Math.min(buf.readUnsignedByte(), MAX_STEPS);
+        steps = new ForgeStep[count];
+        int valid = 0;
+        for (int i = 0; i < count; i++)
+        {
+            ForgeStep step = ForgeStep.valueOf(buf.readUnsignedByte());
+            if (step == null)
+            {
+                // Invalid steps end the sequence
+                break;
+            }
+            steps[valid++] = step;
+        }
+        if (valid < count)
+        {
+            ForgeStep[] validSteps = new ForgeStep[valid];
+            System.arraycopy(steps, 0, validSteps, 0, valid);
+            steps = validSteps;
+        }
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        buf.writeByte(steps.length);
+        for (ForgeStep step : steps)
+        {
+            buf.writeByte(step.ordinal());
+        }
+    }
+
+    public static class Handler implements IMessageHandler<PacketAnvilSteps, IMessage>
+    {
+        @Override
+        public IMessage onMessage(PacketAnvilSteps message, MessageContext ctx)
+        {
+            EntityPlayer player = AlcatrazCore.getProxy().getPlayer(ctx);
+            if (player.openContainer instanceof ContainerTinkersAnvil && message.steps.length > 0 && AnvilPacketLimiter.tryAcquire(player))
+            {
+                ContainerTinkersAnvil container = (ContainerTinkersAnvil) player.openContainer;
+                AlcatrazCore.getProxy().getThreadListener(ctx).addScheduledTask(() -> container.onReceiveSteps(message.steps));
+            }
+            return null;
+        }
+    }
+}
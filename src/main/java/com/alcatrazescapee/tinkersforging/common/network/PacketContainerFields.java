@@ -0,0 +1,87 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.common.network;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+import com.alcatrazescapee.alcatrazcore.AlcatrazCore;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The changed tile fields of a container, as (index, value) pairs. Replaces one window property packet per field
+ */
+public class PacketContainerFields implements IMessage
+{
+    private int windowId;
+    private int count;
+    private int[] indices;
+    private int[] values;
+
+    @SuppressWarnings("unused")
+    public PacketContainerFields() {}
+
+    public PacketContainerFields(int windowId, int count, int[] indices, int[] values)
+    {
+        this.windowId = windowId;
+        this.count = count;
+        this.indices = indices;
+        this.values = values;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        windowId = buf.readUnsignedByte();
+        count = ByteBufUtils.readVarShort(buf);
+        indices = new int[count];
+        values = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            indices[i] = ByteBufUtils.readVarShort(buf);
+            // Zig-zag encoded, as fields may be negative
+            final int value = ByteBufUtils.readVarInt(buf, 5);
+            values[i] = (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        buf.writeByte(windowId);
+        ByteBufUtils.writeVarShort(buf, count);
+        for (int i = 0; i < count; i++)
+        {
+            ByteBufUtils.writeVarShort(buf, indices[i]);
+            ByteBufUtils.writeVarInt(buf, (values[i] << 1) ^ (values[i] >> 31), 5);
+        }
+    }
+
+    public static class Handler implements IMessageHandler<PacketContainerFields, IMessage>
+    {
+        @Override
+        public IMessage onMessage(PacketContainerFields message, MessageContext ctx)
+        {
+            AlcatrazCore.getProxy().getThreadListener(ctx).addScheduledTask(() ->
+            {
+                EntityPlayer player = AlcatrazCore.getProxy().getPlayer(ctx);
+                if (player != null && player.openContainer != null && player.openContainer.windowId == message.windowId)
+                {
+                    for (int i = 0; i < message.count; i++)
+                    {
+                        // Same as the vanilla window property packet
+                        player.openContainer.updateProgressBar(message.indices[i], message.values[i]);
+                    }
+                }
+            });
+            return null;
+        }
+    }
+}
@@ -6,21 +6,26 @@
 
 package com.alcatrazescapee.tinkersforging.common.network;
 
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.NonNullList;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
 
 import com.alcatrazescapee.alcatrazcore.network.PacketTContainerUpdate;
 import com.alcatrazescapee.tinkersforging.common.capability.CapabilityForgeItem;
 import com.alcatrazescapee.tinkersforging.common.capability.IForgeItem;
 import io.netty.buffer.ByteBuf;
 
+/**
+ * Syncs forge items in a container, using {@link ForgeItemCodec} rather than the full capability NBT
+ */
 @ParametersAreNonnullByDefault
-public class PacketUpdateForgeItem extends PacketTContainerUpdate<IForgeItem, NBTTagCompound>
+public class PacketUpdateForgeItem extends PacketTContainerUpdate<IForgeItem, ForgeItemCodec.Entry>
 {
+    // The codec for the receiving player, if known. Only used on server
+    private ForgeItemCodec codec;
+
     @SuppressWarnings("unused")
     public PacketUpdateForgeItem()
     {
@@ -37,30 +42,45 @@ public class PacketUpdateForgeItem extends PacketTContainerUpdate<IForgeItem, NB
         super(CapabilityForgeItem.CAPABILITY, null, windowID, items);
     }
 
+    /**
+     * Encodes this packet against the last entries sent to a player. It must then only be sent to that player
+     */
+    public void setCodec(@Nullable ForgeItemCodec codec)
+    {
+        this.codec = codec;
+    }
+
     @Override
-    protected NBTTagCompound readCapability(IForgeItem instance)
+    protected ForgeItemCodec.Entry readCapability(IForgeItem instance)
     {
-        return instance.serializeNBT();
+        return ForgeItemCodec.Entry.of(instance);
     }
 
     @Override
-    protected void serializeCapability(ByteBuf buf, NBTTagCompound nbt)
+    protected void serializeCapability(ByteBuf buf, ForgeItemCodec.Entry entry)
     {
-        ByteBufUtils.writeTag(buf, nbt);
+        if (codec != null)
+        {
+            codec.write(buf, entry);
+        }
+        else
+        {
+            ForgeItemCodec.writeFull(buf, entry);
+        }
     }
 
     @Override
-    protected NBTTagCompound deserializeCapability(ByteBuf buf)
+    protected ForgeItemCodec.Entry deserializeCapability(ByteBuf buf)
     {
-        return ByteBufUtils.readTag(buf);
+        return ForgeItemCodec.read(buf);
     }
 
-    public static class Handler extends PacketTContainerUpdate.Handler<IForgeItem, NBTTagCompound, PacketUpdateForgeItem>
+    public static class Handler extends PacketTContainerUpdate.Handler<IForgeItem, ForgeItemCodec.Entry, PacketUpdateForgeItem>
     {
         @Override
-        public void applyCapability(ItemStack stack, IForgeItem instance, NBTTagCompound nbt)
+        public void applyCapability(ItemStack stack, IForgeItem instance, ForgeItemCodec.Entry entry)
         {
-            instance.deserializeNBT(nbt);
+            instance.deserializeNBT(entry.toNBT());
         }
     }
 }
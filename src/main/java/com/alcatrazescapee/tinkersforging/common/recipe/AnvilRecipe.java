@@ -8,6 +8,7 @@ package com.alcatrazescapee.tinkersforging.common.recipe;
 
 import java.util.Random;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.minecraft.item.ItemStack;
@@ -20,6 +21,7 @@ import com.alcatrazescapee.tinkersforging.ModConfig;
 import com.alcatrazescapee.tinkersforging.TinkersForging;
 import com.alcatrazescapee.tinkersforging.common.capability.IForgeItem;
 import com.alcatrazescapee.tinkersforging.util.forge.ForgeRule;
+import com.alcatrazescapee.tinkersforging.util.forge.ForgeRuleSet;
 import com.alcatrazescapee.tinkersforging.util.forge.ForgeSteps;
 import io.netty.buffer.ByteBuf;
 
@@ -46,6 +48,21 @@ public class AnvilRecipe extends RecipeCore
         return true;
     }
 
+    /**
+     * Gets the compact id for a recipe name. This is a 64-bit FNV-1a hash, so it is stable across restarts and can be computed from legacy recipe names
+     */
+    public static long getIdFor(String name)
+    {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < name.length(); i++)
+        {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        // Zero is reserved for no recipe
+        return hash == IForgeItem.NO_RECIPE ? 1 : hash;
+    }
+
     public static AnvilRecipe fromSerialized(ByteBuf buffer)
     {
         int minTier = buffer.readInt();
@@ -53,21 +70,36 @@ public class AnvilRecipe extends RecipeCore
 
         ItemStack output = ByteBufUtils.readItemStack(buffer);
 
-        int numRules = buffer.readInt();
+        int numRules = buffer.readByte();
         ForgeRule[] rules = new ForgeRule[numRules];
         for (int i = 0; i < numRules; i++)
         {
-            rules[i] = ForgeRule.valueOf(buffer.readInt());
+            rules[i] = ForgeRule.valueOf(buffer.readByte());
         }
 
-        return new AnvilRecipe(output, minTier, rules).withSeed(seed);
+        if (buffer.readBoolean())
+        {
+            String inputOre = ByteBufUtils.readUTF8String(buffer);
+            int inputAmount = ByteBufUtils.readVarInt(buffer, 5);
+            return new AnvilRecipe(output, inputOre, inputAmount, minTier, rules).withSeed(seed);
+        }
+        else
+        {
+            ItemStack input = ByteBufUtils.readItemStack(buffer);
+            return new AnvilRecipe(output, input, minTier, rules).withSeed(seed);
+        }
     }
 
     private static final Random RANDOM = new Random();
 
     private final ForgeRule[] rules;
+    private final ForgeRuleSet ruleSet;
     private final int minTier;
     private final String recipeName;
+    private final long recipeId;
+    private final String inputOre;
+    private final int inputAmount;
+    private final ItemStack inputItem;
 
     private int workingSeed = 0;
 
@@ -76,8 +108,13 @@ public class AnvilRecipe extends RecipeCore
         super(outputStack, inputOre, inputAmount);
 
         this.rules = rules;
+        this.ruleSet = ForgeRuleSet.of(rules);
         this.minTier = minTier;
         this.recipeName = outputStack.serializeNBT().toString();
+        this.recipeId = getIdFor(recipeName);
+        this.inputOre = inputOre;
+        this.inputAmount = inputAmount;
+        this.inputItem = ItemStack.EMPTY;
     }
 
     public AnvilRecipe(ItemStack outputStack, ItemStack inputStack, int minTier, ForgeRule... rules)
@@ -85,18 +122,13 @@ public class AnvilRecipe extends RecipeCore
         super(outputStack, inputStack);
 
         this.rules = rules;
+        this.ruleSet = ForgeRuleSet.of(rules);
         this.minTier = ModConfig.GENERAL.respectTiers ? minTier : Integer.MIN_VALUE;
         this.recipeName = outputStack.serializeNBT().toString();
-    }
-
-    private AnvilRecipe(ItemStack outputStack, int minTier, ForgeRule... rules)
-    {
-        // Only created on client
-        super(outputStack, ItemStack.EMPTY);
-
-        this.minTier = ModConfig.GENERAL.respectTiers ? minTier : Integer.MIN_VALUE;
-        this.rules = rules;
-        this.recipeName = "client:" + outputStack.serializeNBT().toString();
+        this.recipeId = getIdFor(recipeName);
+        this.inputOre = null;
+        this.inputAmount = inputStack.getCount();
+        this.inputItem = inputStack.copy();
     }
 
     @Override
@@ -106,6 +138,14 @@ public class AnvilRecipe extends RecipeCore
         return recipeName;
     }
 
+    /**
+     * @return the compact id used to refer to this recipe in item NBT
+     */
+    public long getId()
+    {
+        return recipeId;
+    }
+
     @Nonnull
     public ForgeRule[] getRules()
     {
@@ -117,6 +157,32 @@ public class AnvilRecipe extends RecipeCore
         return minTier;
     }
 
+    /**
+     * @return the ore dictionary name of the input, or null if this recipe uses an item stack input
+     */
+    @Nullable
+    public String getInputOre()
+    {
+        return inputOre;
+    }
+
+    /**
+     * @return the item stack input, or an empty stack if this recipe uses an ore dictionary input
+     */
+    @Nonnull
+    public ItemStack getInputItem()
+    {
+        return inputItem;
+    }
+
+    /**
+     * @return the number of input items consumed by this recipe
+     */
+    public int getInputAmount()
+    {
+        return inputAmount;
+    }
+
     public int getWorkingTarget(long seed)
     {
         RANDOM.setSeed(seed + workingSeed);
@@ -130,12 +196,7 @@ public class AnvilRecipe extends RecipeCore
 
     public boolean stepsMatch(ForgeSteps steps)
     {
-        for (ForgeRule rule : rules)
-        {
-            if (!rule.matches(steps))
-                return false;
-        }
-        return true;
+        return ruleSet.matches(steps);
     }
 
     public void serialize(ByteBuf buffer)
@@ -148,9 +209,21 @@ public class AnvilRecipe extends RecipeCore
         ByteBufUtils.writeItemStack(buffer, outputStack);
 
         // Rules
-        buffer.writeInt(rules.length);
+        buffer.writeByte(rules.length);
         for (ForgeRule rule : rules)
-            buffer.writeInt(ForgeRule.getID(rule));
+            buffer.writeByte(ForgeRule.getID(rule));
+
+        // Input
+        buffer.writeBoolean(inputOre != null);
+        if (inputOre != null)
+        {
+            ByteBufUtils.writeUTF8String(buffer, inputOre);
+            ByteBufUtils.writeVarInt(buffer, inputAmount, 5);
+        }
+        else
+        {
+            ByteBufUtils.writeItemStack(buffer, inputItem);
+        }
     }
 
     public boolean matchesOutput(ItemStack output)
@@ -165,4 +238,12 @@ public class AnvilRecipe extends RecipeCore
         return this;
     }
 
+    /**
+     * Seeds are assigned in increasing order as recipes are added, so this doubles as the registration order
+     */
+    int getSeed()
+    {
+        return workingSeed;
+    }
+
 }
@@ -6,42 +6,72 @@
 
 package com.alcatrazescapee.tinkersforging.common.recipe;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
 
 import com.alcatrazescapee.alcatrazcore.inventory.recipe.IRecipeManager;
 import com.alcatrazescapee.tinkersforging.TinkersForging;
 
 public class AnvilRecipeManager implements IRecipeManager<AnvilRecipe>
 {
+    private static long getItemKey(Item item, int meta)
+    {
+        return ((long) Item.getIdFromItem(item) << 32) | (meta & 0xFFFFFFFFL);
+    }
+
     private final List<AnvilRecipe> recipes;
+    private final Map<Long, AnvilRecipe> recipesById;
+    // Input indexes. Each list is kept in registration order
+    private final Map<Integer, List<AnvilRecipe>> recipesByOre;
+    private final Map<Long, List<AnvilRecipe>> recipesByItem;
+    private final List<AnvilRecipe> unindexedRecipes;
+    // Cached recipe cycles by item / meta, then by stack size up to the largest input amount. Cleared whenever a recipe is added or removed
+    // These caches are concurrent, as the client and integrated server threads share this manager
+    private final Map<Long, RecipeCycle[]> recipeCycles;
+    // Positions in the recipe list, used as network ids. Cleared whenever a recipe is added or removed
+    private final Map<AnvilRecipe, Integer> networkIndexes;
+    // The recipe table received from the server, only used on client
+    private List<AnvilRecipe> clientRecipes;
     private int seedCounter;
+    // Stack sizes above this match the same recipes
+    private int maxInputAmount;
 
     AnvilRecipeManager()
     {
         recipes = new ArrayList<>();
+        recipesById = new HashMap<>();
+        recipesByOre = new HashMap<>();
+        recipesByItem = new HashMap<>();
+        unindexedRecipes = new ArrayList<>();
+        recipeCycles = new ConcurrentHashMap<>();
+        networkIndexes = new ConcurrentHashMap<>();
+        clientRecipes = Collections.emptyList();
         seedCounter = 0;
+        maxInputAmount = 1;
     }
 
     @Override
     public void add(AnvilRecipe recipe)
     {
-        for (AnvilRecipe r : recipes)
+        if (recipesById.containsKey(recipe.getId()))
         {
-            if (r.getName().equals(recipe.getName()))
-            {
-                TinkersForging.getLog().warn("Duplicate recipe name '{}' found. This may cause problems!", recipe.getName());
-                break;
-            }
+            TinkersForging.getLog().warn("Duplicate recipe name '{}' found. This may cause problems!", recipe.getName());
         }
         if (AnvilRecipe.assertValid(recipe))
         {
             recipes.add(recipe.withSeed(++seedCounter));
+            recipesById.putIfAbsent(recipe.getId(), recipe);
+            getIndexFor(recipe).add(recipe);
+            maxInputAmount = Math.max(maxInputAmount, recipe.getInputAmount());
+            recipeCycles.clear();
+            networkIndexes.clear();
         }
     }
 
@@ -64,7 +94,27 @@ public class AnvilRecipeManager implements IRecipeManager<AnvilRecipe>
     @Override
     public AnvilRecipe get(Object input)
     {
-        return recipes.stream().filter(x -> x.test(input)).findFirst().orElse(null);
+        if (!(input instanceof ItemStack))
+        {
+            return recipes.stream().filter(x -> x.test(input)).findFirst().orElse(null);
+        }
+
+        // Check each candidate list, and take the earliest registered match
+        AnvilRecipe result = null;
+        for (List<AnvilRecipe> candidates : getCandidatesFor((ItemStack) input))
+        {
+            for (AnvilRecipe recipe : candidates)
+            {
+                if (result != null && recipe.getSeed() > result.getSeed())
+                    break;
+                if (recipe.test(input))
+                {
+                    result = recipe;
+                    break;
+                }
+            }
+        }
+        return result;
     }
 
     @Deprecated
@@ -76,49 +126,212 @@ public class AnvilRecipeManager implements IRecipeManager<AnvilRecipe>
     @Override
     public void remove(Object output)
     {
-        recipes.removeIf(x -> output instanceof ItemStack && x.matchesOutput((ItemStack) output));
+        if (output instanceof ItemStack)
+        {
+            Iterator<AnvilRecipe> iterator = recipes.iterator();
+            while (iterator.hasNext())
+            {
+                AnvilRecipe recipe = iterator.next();
+                if (recipe.matchesOutput((ItemStack) output))
+                {
+                    iterator.remove();
+                    getIndexFor(recipe).remove(recipe);
+                    recipeCycles.clear();
+                    networkIndexes.clear();
+                    if (recipesById.get(recipe.getId()) == recipe)
+                    {
+                        // Fall back to the next recipe with a duplicate id, if any
+                        recipesById.remove(recipe.getId());
+                        recipes.stream().filter(x -> x.getId() == recipe.getId()).findFirst().ifPresent(x -> recipesById.put(x.getId(), x));
+                    }
+                }
+            }
+        }
     }
 
     @Nullable
-    public AnvilRecipe getByName(@Nullable String name)
+    public AnvilRecipe getById(long id)
     {
-        return recipes.stream().filter(x -> x.getName().equals(name)).findFirst().orElse(null);
+        return recipesById.get(id);
+    }
+
+    /**
+     * Gets the index used to refer to a recipe over the network. This is the position in the synced recipe table
+     *
+     * @return the index, or -1 if the recipe is null or not registered
+     */
+    public int getNetworkIndex(@Nullable AnvilRecipe recipe)
+    {
+        if (recipe == null)
+        {
+            return -1;
+        }
+        if (networkIndexes.isEmpty())
+        {
+            for (int i = 0; i < recipes.size(); i++)
+            {
+                networkIndexes.put(recipes.get(i), i);
+            }
+        }
+        Integer idx = networkIndexes.get(recipe);
+        return idx == null ? -1 : idx;
+    }
+
+    /**
+     * Gets a recipe from the table synced from the server. Only used on client
+     */
+    @Nullable
+    public AnvilRecipe getClientRecipe(int networkIndex)
+    {
+        return networkIndex >= 0 && networkIndex < clientRecipes.size() ? clientRecipes.get(networkIndex) : null;
+    }
+
+    public void setClientRecipes(List<AnvilRecipe> recipes)
+    {
+        clientRecipes = recipes;
     }
 
     @Nullable
     public AnvilRecipe getPrevious(@Nullable AnvilRecipe recipe, Object input)
     {
-        List<AnvilRecipe> list = getAllMatching(input);
-        if (list.size() == 0)
+        RecipeCycle cycle = getRecipeCycle(input);
+        if (cycle.recipes.length == 0)
             return null;
 
-        int idx = list.indexOf(recipe);
-        if (idx == -1)
+        Integer idx = cycle.positions.get(recipe);
+        if (idx == null)
             return recipe;
         else if (idx == 0)
-            return list.get(list.size() - 1);
+            return cycle.recipes[cycle.recipes.length - 1];
         else
-            return list.get(idx - 1);
+            return cycle.recipes[idx - 1];
     }
 
     @Nullable
     public AnvilRecipe getNext(@Nullable AnvilRecipe recipe, Object input)
     {
-        List<AnvilRecipe> list = getAllMatching(input);
-        if (list.size() == 0)
+        RecipeCycle cycle = getRecipeCycle(input);
+        if (cycle.recipes.length == 0)
             return null;
 
-        int idx = list.indexOf(recipe);
-        if (idx == -1)
+        Integer idx = cycle.positions.get(recipe);
+        if (idx == null)
             return recipe;
-        else if (idx + 1 >= list.size())
-            return list.get(0);
+        else if (idx + 1 >= cycle.recipes.length)
+            return cycle.recipes[0];
         else
-            return list.get(idx + 1);
+            return cycle.recipes[idx + 1];
+    }
+
+    /**
+     * Gets the ordered list of all recipes matching an input.
+     * Stacks without NBT only match on item, meta, ore names and count, so their result is cached per item / meta and stack size until the recipes change
+     */
+    @Nonnull
+    private RecipeCycle getRecipeCycle(Object input)
+    {
+        if (input instanceof ItemStack)
+        {
+            ItemStack stack = (ItemStack) input;
+            if (!stack.isEmpty() && !stack.hasTagCompound())
+            {
+                RecipeCycle[] cycles = recipeCycles.computeIfAbsent(getItemKey(stack.getItem(), stack.getMetadata()), k -> new RecipeCycle[maxInputAmount + 1]);
+                final int count = Math.min(stack.getCount(), maxInputAmount);
+                if (cycles[count] == null)
+                {
+                    cycles[count] = new RecipeCycle(getAllMatching(stack));
+                }
+                return cycles[count];
+            }
+        }
+        return new RecipeCycle(getAllMatching(input));
     }
 
     private List<AnvilRecipe> getAllMatching(Object input)
     {
-        return recipes.stream().filter(x -> x.test(input)).collect(Collectors.toList());
+        if (!(input instanceof ItemStack))
+        {
+            return recipes.stream().filter(x -> x.test(input)).collect(Collectors.toList());
+        }
+
+        List<AnvilRecipe> list = new ArrayList<>();
+        for (List<AnvilRecipe> candidates : getCandidatesFor((ItemStack) input))
+        {
+            for (AnvilRecipe recipe : candidates)
+            {
+                if (recipe.test(input))
+                    list.add(recipe);
+            }
+        }
+        list.sort(Comparator.comparingInt(AnvilRecipe::getSeed));
+        return list;
+    }
+
+    /**
+     * Gets all index lists which may contain a recipe for this stack. The lists are disjoint
+     */
+    @Nonnull
+    private List<List<AnvilRecipe>> getCandidatesFor(ItemStack stack)
+    {
+        List<List<AnvilRecipe>> candidates = new ArrayList<>();
+        if (!unindexedRecipes.isEmpty())
+        {
+            candidates.add(unindexedRecipes);
+        }
+        if (stack.isEmpty())
+        {
+            return candidates;
+        }
+
+        List<AnvilRecipe> list = recipesByItem.get(getItemKey(stack.getItem(), stack.getMetadata()));
+        if (list != null)
+            candidates.add(list);
+
+        if (stack.getMetadata() != OreDictionary.WILDCARD_VALUE)
+        {
+            list = recipesByItem.get(getItemKey(stack.getItem(), OreDictionary.WILDCARD_VALUE));
+            if (list != null)
+                candidates.add(list);
+        }
+
+        for (int id : OreDictionary.getOreIDs(stack))
+        {
+            list = recipesByOre.get(id);
+            if (list != null)
+                candidates.add(list);
+        }
+        return candidates;
+    }
+
+    @Nonnull
+    private List<AnvilRecipe> getIndexFor(AnvilRecipe recipe)
+    {
+        String inputOre = recipe.getInputOre();
+        if (inputOre != null)
+        {
+            return recipesByOre.computeIfAbsent(OreDictionary.getOreID(inputOre), k -> new ArrayList<>());
+        }
+        ItemStack inputItem = recipe.getInputItem();
+        if (!inputItem.isEmpty())
+        {
+            return recipesByItem.computeIfAbsent(getItemKey(inputItem.getItem(), inputItem.getMetadata()), k -> new ArrayList<>());
+        }
+        return unindexedRecipes;
+    }
+
+    private static final class RecipeCycle
+    {
+        private final AnvilRecipe[] recipes;
+        private final Map<AnvilRecipe, Integer> positions;
+
+        private RecipeCycle(List<AnvilRecipe> list)
+        {
+            recipes = list.toArray(new AnvilRecipe[0]);
+            positions = new HashMap<>();
+            for (int i = 0; i < recipes.length; i++)
+            {
+                positions.put(recipes[i], i);
+            }
+        }
     }
 }
@@ -0,0 +1,85 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.common.tile;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.WeakHashMap;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import com.alcatrazescapee.tinkersforging.util.TickTimer;
+
+/**
+ * Fires melt events at the tick an item in a forge is predicted to melt, so forges don't need to check each item every tick.
+ * Events refer to the tile by position, so they don't keep unloaded tiles or worlds alive.
+ * Events are never cancelled, as that would need a search of the queue: handlers ignore events which no longer match the tick they last scheduled, and stale events are dropped when they are polled.
+ * This is only used on server.
+ */
+@ParametersAreNonnullByDefault
+public final class ForgeMeltScheduler
+{
+    private static final Map<World, PriorityQueue<MeltEvent>> EVENTS = new WeakHashMap<>();
+
+    /**
+     * Schedules a melt event
+     *
+     * @param delay the number of ticks from now. Events fire on the next tick at the earliest
+     * @return the tick the event will fire at
+     */
+    public static <T extends TileEntity & IMeltHandler> long schedule(T tile, int slot, long delay)
+    {
+        final long tick = TickTimer.getTicks(tile.getWorld()) + Math.max(delay, 1);
+        EVENTS.computeIfAbsent(tile.getWorld(), k -> new PriorityQueue<>(Comparator.comparingLong(e -> e.tick))).add(new MeltEvent(tile.getPos(), slot, tick));
+        return tick;
+    }
+
+    public static void onWorldUnload(World world)
+    {
+        EVENTS.remove(world);
+    }
+
+    public static void onWorldTickEnd(World world)
+    {
+        PriorityQueue<MeltEvent> events = EVENTS.get(world);
+        if (events != null)
+        {
+            final long now = TickTimer.getTicks(world);
+            while (!events.isEmpty() && events.peek().tick <= now)
+            {
+                MeltEvent event = events.poll();
+                // Don't load the chunk, if the tile has since unloaded
+                if (world.isBlockLoaded(event.pos))
+                {
+                    TileEntity tile = world.getTileEntity(event.pos);
+                    if (tile instanceof IMeltHandler && !tile.isInvalid())
+                    {
+                        ((IMeltHandler) tile).onMeltEvent(event.slot, event.tick);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class MeltEvent
+    {
+        private final BlockPos pos;
+        private final int slot;
+        private final long tick;
+
+        private MeltEvent(BlockPos pos, int slot, long tick)
+        {
+            this.pos = pos;
+            this.slot = slot;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.common.tile;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.world.World;
+
+import com.alcatrazescapee.tinkersforging.DerivedConfig;
+
+/**
+ * Ticks all loaded forges in a world in a single loop, at the end of the world tick.
+ * The forge state is held in packed arrays, indexed by a handle. Forges read and write their state through this while loaded.
+ * Removed forges are swapped with the last one, so the arrays stay dense. This is only used on server.
+ * Forges with no fuel and no heat sleep: they are moved after the active forges, and the tick loop only visits the active ones. They wake when their fuel or temperature is set.
+ */
+@ParametersAreNonnullByDefault
+public final class ForgeTickManager
+{
+    private static final Map<World, ForgeTickManager> MANAGERS = new WeakHashMap<>();
+
+    // Forges only mark their chunk as dirty when their state changes by at least this much
+    static final float SAVE_TEMPERATURE_STEP = 10f;
+    static final int SAVE_FUEL_TICKS_STEP = 20;
+
+    private static long savesMarked = 0;
+    private static long savesSkipped = 0;
+
+    /**
+     * Checks if a forge's persisted state has changed enough from the last saved state that it needs to be saved
+     */
+    static boolean needsSave(float temperature, float savedTemperature, int fuelTicks, int savedFuelTicks)
+    {
+        boolean changed = Math.abs(temperature - savedTemperature) >= SAVE_TEMPERATURE_STEP
+                || (temperature <= 0) != (savedTemperature <= 0)
+                || fuelTicks / SAVE_FUEL_TICKS_STEP != savedFuelTicks / SAVE_FUEL_TICKS_STEP
+                || (fuelTicks <= 0) != (savedFuelTicks <= 0);
+        if (changed)
+            savesMarked++;
+        else
+            savesSkipped++;
+        return changed;
+    }
+
+    public static long getSavesMarked()
+    {
+        return savesMarked;
+    }
+
+    public static long getSavesSkipped()
+    {
+        return savesSkipped;
+    }
+
+    public static void onWorldTickEnd(World world)
+    {
+        ForgeTickManager manager = MANAGERS.get(world);
+        if (manager != null)
+        {
+            manager.tick();
+        }
+    }
+
+    /**
+     * Drops the manager of an unloaded world. Managers hold their world, so the map can't release them by itself
+     */
+    public static void onWorldUnload(World world)
+    {
+        MANAGERS.remove(world);
+    }
+
+    static ForgeTickManager get(World world)
+    {
+        return MANAGERS.computeIfAbsent(world, ForgeTickManager::new);
+    }
+
+    private final World world;
+    private TileForgeBase[] forges;
+    private int[] fuelTicks;
+    private float[] temperatures;
+    private float[] maxTemperatures;
+    private float[] temperatureModifiers;
+    private int[] fuelPerTick;
+    // The values when the chunk was last marked dirty
+    private int[] savedFuelTicks;
+    private float[] savedTemperatures;
+    private int size;
+    // Forges before this index are active, and the rest are asleep
+    private int activeCount;
+    // The config version the forge parameters were last read with
+    private int configVersion;
+    // Removed during the tick loop, so need to be compacted afterwards
+    private boolean isTicking;
+    private boolean needsCompact;
+
+    private ForgeTickManager(World world)
+    {
+        this.world = world;
+        this.configVersion = DerivedConfig.getConfigVersion();
+        this.forges = new TileForgeBase[16];
+        this.fuelTicks = new int[16];
+        this.temperatures = new float[16];
+        this.maxTemperatures = new float[16];
+        this.temperatureModifiers = new float[16];
+        this.fuelPerTick = new int[16];
+        this.savedFuelTicks = new int[16];
+        this.savedTemperatures = new float[16];
+    }
+
+    int add(TileForgeBase forge, int fuel, float temperature)
+    {
+        if (size == forges.length)
+        {
+            final int capacity = size * 2;
+            forges = Arrays.copyOf(forges, capacity);
+            fuelTicks = Arrays.copyOf(fuelTicks, capacity);
+            temperatures = Arrays.copyOf(temperatures, capacity);
+            maxTemperatures = Arrays.copyOf(maxTemperatures, capacity);
+            temperatureModifiers = Arrays.copyOf(temperatureModifiers, capacity);
+            fuelPerTick = Arrays.copyOf(fuelPerTick, capacity);
+            savedFuelTicks = Arrays.copyOf(savedFuelTicks, capacity);
+            savedTemperatures = Arrays.copyOf(savedTemperatures, capacity);
+        }
+        int handle = size++;
+        forges[handle] = forge;
+        fuelTicks[handle] = savedFuelTicks[handle] = fuel;
+        temperatures[handle] = savedTemperatures[handle] = temperature;
+        setHeating(handle, forge.getMaxTemperature(), forge.getTemperatureModifier(), forge.getFuelPerTick());
+        if (!isIdle(handle))
+        {
+            swap(handle, activeCount);
+            handle = activeCount++;
+        }
+        return handle;
+    }
+
+    void remove(int handle)
+    {
+        forges[handle] = null;
+        if (isTicking)
+        {
+            needsCompact = true;
+        }
+        else
+        {
+            compact();
+        }
+    }
+
+    int getFuelTicks(int handle)
+    {
+        return fuelTicks[handle];
+    }
+
+    void setFuelTicks(int handle, int fuel)
+    {
+        fuelTicks[handle] = fuel;
+        wake(handle);
+    }
+
+    float getTemperature(int handle)
+    {
+        return temperatures[handle];
+    }
+
+    void setTemperature(int handle, float temperature)
+    {
+        temperatures[handle] = temperature;
+        wake(handle);
+    }
+
+    void setHeating(int handle, float maxTemperature, float temperatureModifier, int fuel)
+    {
+        maxTemperatures[handle] = maxTemperature;
+        temperatureModifiers[handle] = temperatureModifier;
+        fuelPerTick[handle] = fuel;
+    }
+
+    private void tick()
+    {
+        if (configVersion != DerivedConfig.getConfigVersion())
+        {
+            // Modifiers are copied into the arrays, so they need to be read again
+            configVersion = DerivedConfig.getConfigVersion();
+            for (int i = 0; i < size; i++)
+            {
+                forges[i].updateForge();
+            }
+        }
+
+        isTicking = true;
+        int i = 0;
+        while (i < activeCount)
+        {
+            if (forges[i] == null)
+            {
+                // Removed earlier in this tick
+                i++;
+                continue;
+            }
+            if (isIdle(i))
+            {
+                // Sleep, and tick the forge swapped into this place instead
+                swap(i, --activeCount);
+                continue;
+            }
+
+            final boolean isLit = fuelTicks[i] > 0;
+            float temperature = temperatures[i];
+
+            if (isLit)
+            {
+                fuelTicks[i] -= fuelPerTick[i];
+                if (fuelTicks[i] <= 0)
+                {
+                    fuelTicks[i] = 0;
+                    forges[i].onFuelEmpty();
+                    if (forges[i] == null)
+                    {
+                        // Removed when the fuel ran out
+                        i++;
+                        continue;
+                    }
+                }
+
+                // Move towards the max temperature
+                final float maxTemperature = maxTemperatures[i];
+                if (temperature < maxTemperature)
+                {
+                    temperature = Math.min(temperature + temperatureModifiers[i], maxTemperature);
+                }
+                else if (temperature > maxTemperature)
+                {
+                    temperature = Math.max(temperature - temperatureModifiers[i], maxTemperature);
+                }
+            }
+            else
+            {
+                // When it is not burning fuel, then decrease the temperature until it reaches zero
+                temperature = Math.max(temperature - temperatureModifiers[i], 0);
+            }
+            temperatures[i] = temperature;
+
+            if (needsSave(temperature, savedTemperatures[i], fuelTicks[i], savedFuelTicks[i]))
+            {
+                savedTemperatures[i] = temperature;
+                savedFuelTicks[i] = fuelTicks[i];
+                world.markChunkDirty(forges[i].getPos(), forges[i]);
+            }
+            i++;
+        }
+        isTicking = false;
+        if (needsCompact)
+        {
+            needsCompact = false;
+            compact();
+        }
+    }
+
+    private boolean isIdle(int handle)
+    {
+        return fuelTicks[handle] <= 0 && temperatures[handle] <= 0;
+    }
+
+    /**
+     * Moves a sleeping forge to the end of the active forges
+     */
+    private void wake(int handle)
+    {
+        if (handle >= activeCount && !isIdle(handle))
+        {
+            swap(handle, activeCount++);
+        }
+    }
+
+    /**
+     * Removes all null forges, by moving the last forge of the same state into their place
+     */
+    private void compact()
+    {
+        int i = 0;
+        while (i < activeCount)
+        {
+            if (forges[i] == null)
+            {
+                // Fill from the last active forge, then move the gap out of the sleeping forges
+                swap(i, --activeCount);
+                swap(activeCount, --size);
+            }
+            else
+            {
+                i++;
+            }
+        }
+        while (i < size)
+        {
+            if (forges[i] == null)
+            {
+                swap(i, --size);
+            }
+            else
+            {
+                i++;
+            }
+        }
+    }
+
+    private void swap(int i, int j)
+    {
+        if (i == j)
+        {
+            return;
+        }
+        final TileForgeBase forge = forges[i];
+        forges[i] = forges[j];
+        forges[j] = forge;
+        final int fuel = fuelTicks[i];
+        fuelTicks[i] = fuelTicks[j];
+        fuelTicks[j] = fuel;
+        final float temperature = temperatures[i];
+        temperatures[i] = temperatures[j];
+        temperatures[j] = temperature;
+        final float maxTemperature = maxTemperatures[i];
+        maxTemperatures[i] = maxTemperatures[j];
+        maxTemperatures[j] = maxTemperature;
+        final float modifier = temperatureModifiers[i];
+        temperatureModifiers[i] = temperatureModifiers[j];
+        temperatureModifiers[j] = modifier;
+        final int fuelUse = fuelPerTick[i];
+        fuelPerTick[i] = fuelPerTick[j];
+        fuelPerTick[j] = fuelUse;
+        final int savedFuel = savedFuelTicks[i];
+        savedFuelTicks[i] = savedFuelTicks[j];
+        savedFuelTicks[j] = savedFuel;
+        final float savedTemperature = savedTemperatures[i];
+        savedTemperatures[i] = savedTemperatures[j];
+        savedTemperatures[j] = savedTemperature;
+        if (forges[i] != null)
+        {
+            forges[i].setHandle(i);
+        }
+        if (forges[j] != null)
+        {
+            forges[j].setHandle(j);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.common.tile;
+
+/**
+ * A tile which heats items, and receives scheduled melt events from {@link ForgeMeltScheduler}
+ */
+public interface IMeltHandler
+{
+    /**
+     * Called at the tick an item is predicted to melt. Events may be stale, if the item has since been rescheduled
+     *
+     * @param slot the slot index, as passed to {@link ForgeMeltScheduler#schedule}
+     * @param tick the tick the event was scheduled for
+     */
+    void onMeltEvent(int slot, long tick);
+}
@@ -11,30 +11,23 @@ import javax.annotation.ParametersAreNonnullByDefault;
 
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
-import net.minecraft.init.SoundEvents;
-import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.ITickable;
-import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
 import com.alcatrazescapee.alcatrazcore.tile.ITileFields;
-import com.alcatrazescapee.alcatrazcore.tile.TileInventory;
 import com.alcatrazescapee.alcatrazcore.util.CoreHelpers;
-import com.alcatrazescapee.tinkersforging.ModConfig;
+import com.alcatrazescapee.tinkersforging.DerivedConfig;
 import com.alcatrazescapee.tinkersforging.TinkersForging;
 import com.alcatrazescapee.tinkersforging.common.blocks.ModBlocks;
-import com.alcatrazescapee.tinkersforging.common.capability.CapabilityForgeItem;
-import com.alcatrazescapee.tinkersforging.common.capability.IForgeItem;
 
 import static com.alcatrazescapee.tinkersforging.common.capability.CapabilityForgeItem.MAX_TEMPERATURE;
 import static com.alcatrazescapee.tinkersforging.util.property.IBurnBlock.LIT;
 import static com.alcatrazescapee.tinkersforging.util.property.IPileBlock.LAYERS;
 
 @ParametersAreNonnullByDefault
-public class TileCharcoalForge extends TileInventory implements ITickable, ITileFields
+public class TileCharcoalForge extends TileForgeBase implements ITileFields
 {
     public static final int SLOT_INPUT_MIN = 0;
     public static final int SLOT_INPUT_MAX = 5;
@@ -70,121 +63,35 @@ public class TileCharcoalForge extends TileInventory implements ITickable, ITile
         return state.isNormalCube() && state.getMaterial() == Material.ROCK;
     }
 
-    private int fuelTicksRemaining;
-    private float temperature;
     private boolean isClosed;
 
     public TileCharcoalForge()
     {
-        super(5);
+        super(5, SLOT_INPUT_MIN, SLOT_INPUT_MAX - SLOT_INPUT_MIN);
     }
 
     public void updateClosedState()
     {
-        for (EnumFacing face : EnumFacing.HORIZONTALS)
-        {
-            if (isValidSideBlock(world.getBlockState(pos.offset(face))))
-                continue;
-
-            isClosed = false;
-            return;
-        }
+        boolean wasClosed = isClosed;
         isClosed = true;
-    }
-
-    @Override
-    public void update()
-    {
-        if (world.isRemote)
-        {
-            return;
-        }
-
-        if (fuelTicksRemaining > 0)
+        for (EnumFacing face : EnumFacing.HORIZONTALS)
         {
-            // Consume fuel ticks
-            fuelTicksRemaining -= isClosed ? 1 : 2;
-
-            if (fuelTicksRemaining == 0)
+            if (!isValidSideBlock(world.getBlockState(pos.offset(face))))
             {
-                consumeFuel();
-
-                if (fuelTicksRemaining == 0)
-                {
-                    // Couldn't consume any more fuel
-                    IBlockState state = world.getBlockState(pos);
-                    if (state.getBlock() == ModBlocks.CHARCOAL_FORGE)
-                    {
-                        world.setBlockState(pos, world.getBlockState(pos).withProperty(LIT, false));
-                    }
-                    else
-                    {
-                        onBreakBlock();
-                        world.setBlockToAir(pos);
-                    }
-                }
-            }
-
-            // Update temperature
-            float actualMaxTemp = isClosed ? MAX_TEMPERATURE : MAX_TEMPERATURE * 0.35f;
-            if (temperature < actualMaxTemp)
-            {
-                temperature += (float) ModConfig.BALANCE.charcoalForgeTemperatureModifier;
-                if (temperature > actualMaxTemp)
-                    temperature = actualMaxTemp;
-            }
-            else if (temperature > actualMaxTemp)
-            {
-                temperature -= (float) ModConfig.BALANCE.charcoalForgeTemperatureModifier;
-            }
-
-            for (int i = SLOT_INPUT_MIN; i < SLOT_INPUT_MAX; i++)
-            {
-                ItemStack stack = inventory.getStackInSlot(i);
-                IForgeItem cap = stack.getCapability(CapabilityForgeItem.CAPABILITY, null);
-
-                if (cap != null)
-                {
-                    // Add temperature
-                    if (cap.getTemperature() < temperature)
-                    {
-                        CapabilityForgeItem.addTemp(cap, 1.0f + (float) ModConfig.BALANCE.charcoalForgeTemperatureModifier);
-                    }
-
-                    if (cap.isMolten())
-                    {
-                        // The thing melted!
-                        inventory.setStackInSlot(i, ItemStack.EMPTY);
-                        world.playSound(null, pos, SoundEvents.BLOCK_LAVA_POP, SoundCategory.BLOCKS, 1.0f, 1.0f);
-                    }
-                }
+                isClosed = false;
+                break;
             }
         }
-        else if (temperature > 0)
-        {
-            // When it is not burning fuel, then decrease the temperature until it reaches zero
-            temperature -= (float) ModConfig.BALANCE.charcoalForgeTemperatureModifier;
-            if (temperature < 0)
-                temperature = 0;
-        }
-
-        if (world != null)
+        if (wasClosed != isClosed)
         {
             world.markChunkDirty(pos, this);
+            updateForge();
         }
     }
 
-    @Override
-    public boolean isItemValid(int slot, ItemStack stack)
-    {
-        return stack.hasCapability(CapabilityForgeItem.CAPABILITY, null);
-    }
-
     @Override
     public void readFromNBT(NBTTagCompound nbt)
     {
-        temperature = nbt.getFloat("temp");
-        fuelTicksRemaining = nbt.getInteger("ticks");
         isClosed = nbt.getBoolean("closed");
 
         super.readFromNBT(nbt);
@@ -194,19 +101,11 @@ public class TileCharcoalForge extends TileInventory implements ITickable, ITile
     @Override
     public NBTTagCompound writeToNBT(NBTTagCompound nbt)
     {
-        nbt.setFloat("temp", temperature);
-        nbt.setInteger("ticks", fuelTicksRemaining);
         nbt.setBoolean("closed", isClosed);
 
         return super.writeToNBT(nbt);
     }
 
-    @Override
-    public boolean shouldRefresh(World world, BlockPos pos, IBlockState oldState, IBlockState newState)
-    {
-        return oldState.getBlock() != newState.getBlock();
-    }
-
     @Override
     public int getFieldCount()
     {
@@ -219,9 +118,9 @@ public class TileCharcoalForge extends TileInventory implements ITickable, ITile
         switch (index)
         {
             case FIELD_FUEL:
-                return fuelTicksRemaining;
+                return getFuelTicks();
             case FIELD_TEMPERATURE:
-                return (int) temperature;
+                return (int) getTemperature();
             default:
                 TinkersForging.getLog().warn("Invalid field ID!");
                 return 0;
@@ -234,10 +133,10 @@ public class TileCharcoalForge extends TileInventory implements ITickable, ITile
         switch (index)
         {
             case FIELD_FUEL:
-                fuelTicksRemaining = value;
+                setFuelTicks(value);
                 break;
             case FIELD_TEMPERATURE:
-                temperature = (float) value;
+                setTemperature((float) value);
                 break;
             default:
                 TinkersForging.getLog().warn("Invalid field ID!");
@@ -245,6 +144,44 @@ public class TileCharcoalForge extends TileInventory implements ITickable, ITile
         }
     }
 
+    @Override
+    protected float getMaxTemperature()
+    {
+        return isClosed ? MAX_TEMPERATURE : DerivedConfig.charcoalForgeOpenMaxTemperature;
+    }
+
+    @Override
+    protected float getTemperatureModifier()
+    {
+        return DerivedConfig.charcoalForgeTemperatureModifier;
+    }
+
+    @Override
+    protected int getFuelPerTick()
+    {
+        return isClosed ? 1 : 2;
+    }
+
+    @Override
+    protected void onFuelEmpty()
+    {
+        consumeFuel();
+        if (getFuelTicks() == 0)
+        {
+            // Couldn't consume any more fuel
+            IBlockState state = world.getBlockState(pos);
+            if (state.getBlock() == ModBlocks.CHARCOAL_FORGE)
+            {
+                world.setBlockState(pos, world.getBlockState(pos).withProperty(LIT, false));
+            }
+            else
+            {
+                onBreakBlock();
+                world.setBlockToAir(pos);
+            }
+        }
+    }
+
     private void consumeFuel()
     {
         // Consume fuel
@@ -252,7 +189,8 @@ public class TileCharcoalForge extends TileInventory implements ITickable, ITile
         if (state.getValue(LAYERS) > 2)
         {
             world.setBlockState(pos, state.withProperty(LAYERS, state.getValue(LAYERS) - 1));
-            fuelTicksRemaining = (int) (FUEL_TICKS_MAX * ModConfig.BALANCE.charcoalForgeFuelModifier);
+            setFuelTicks(DerivedConfig.charcoalForgeFuelTicks);
         }
+        updateHeating();
     }
 }
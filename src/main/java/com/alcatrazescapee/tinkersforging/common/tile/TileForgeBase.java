@@ -0,0 +1,313 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.common.tile;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.SoundEvents;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import com.alcatrazescapee.alcatrazcore.tile.TileInventory;
+import com.alcatrazescapee.tinkersforging.common.capability.CapabilityForgeItem;
+import com.alcatrazescapee.tinkersforging.common.capability.IForgeItem;
+import com.alcatrazescapee.tinkersforging.util.TickTimer;
+
+/**
+ * Common parts of the forges. On server, the fuel and temperature are held by the world's {@link ForgeTickManager} while the forge is loaded, which ticks all forges at once.
+ * Item temperatures are computed on read, so the forge only needs to update the items when the fuel or the items change. Clients compute them the same way, so items are only synced then as well.
+ */
+@ParametersAreNonnullByDefault
+public abstract class TileForgeBase extends TileInventory implements IMeltHandler
+{
+    private final int inputMin;
+    // The items being heated by this forge, so they can stop heating once removed
+    private final IForgeItem[] heatedItems;
+    // The tick each item is scheduled to melt at, or -1
+    private final long[] meltTicks;
+
+    // Only used when not held by a manager
+    private int fuelTicksRemaining;
+    private float temperature;
+    private ForgeTickManager manager;
+    private int handle;
+    // The tick this was saved at, until it has been loaded, or -1
+    private long savedTick = -1;
+
+    protected TileForgeBase(int slots, int inputMin, int inputCount)
+    {
+        super(slots);
+        this.inputMin = inputMin;
+        this.heatedItems = new IForgeItem[inputCount];
+        this.meltTicks = new long[inputCount];
+        Arrays.fill(meltTicks, -1);
+    }
+
+    public int getFuelTicks()
+    {
+        return manager != null ? manager.getFuelTicks(handle) : fuelTicksRemaining;
+    }
+
+    public float getTemperature()
+    {
+        return manager != null ? manager.getTemperature(handle) : temperature;
+    }
+
+    @Override
+    public void onLoad()
+    {
+        if (!world.isRemote)
+        {
+            manager = ForgeTickManager.get(world);
+            handle = manager.add(this, fuelTicksRemaining, temperature);
+            if (savedTick != -1)
+            {
+                // The forge didn't heat or cool while unloaded, so neither do the items in it
+                for (int i = 0; i < heatedItems.length; i++)
+                {
+                    IForgeItem cap = inventory.getStackInSlot(i + inputMin).getCapability(CapabilityForgeItem.CAPABILITY, null);
+                    if (cap != null)
+                    {
+                        cap.stopHeatingAt(savedTick);
+                    }
+                }
+                savedTick = -1;
+            }
+            // Restart heating, as the forge may have changed while unloaded
+            updateHeating();
+        }
+    }
+
+    @Override
+    public void onChunkUnload()
+    {
+        removeFromManager();
+        // Any scheduled events are now stale
+        Arrays.fill(meltTicks, -1);
+    }
+
+    @Override
+    public void invalidate()
+    {
+        super.invalidate();
+        removeFromManager();
+        Arrays.fill(meltTicks, -1);
+    }
+
+    @Override
+    public void onBreakBlock()
+    {
+        for (IForgeItem cap : heatedItems)
+        {
+            if (cap != null)
+            {
+                cap.stopHeating();
+            }
+        }
+        super.onBreakBlock();
+    }
+
+    @Override
+    public void setAndUpdateSlots(int slot)
+    {
+        super.setAndUpdateSlots(slot);
+        if (world != null)
+        {
+            world.markChunkDirty(pos, this);
+            if (!world.isRemote && slot >= inputMin && slot < inputMin + heatedItems.length)
+            {
+                // Only this slot changed, so the others keep their heating, and don't need to be synced again
+                updateHeating(slot - inputMin, getFuelTicks() > 0);
+            }
+        }
+    }
+
+    @Override
+    public void onMeltEvent(int slot, long tick)
+    {
+        if (meltTicks[slot] != tick)
+        {
+            return;
+        }
+        meltTicks[slot] = -1;
+        IForgeItem cap = inventory.getStackInSlot(slot + inputMin).getCapability(CapabilityForgeItem.CAPABILITY, null);
+        if (cap != null)
+        {
+            if (cap.isMolten())
+            {
+                // The thing melted!
+                inventory.setStackInSlot(slot + inputMin, ItemStack.EMPTY);
+                world.playSound(null, pos, SoundEvents.BLOCK_LAVA_POP, SoundCategory.BLOCKS, 1.0f, 1.0f);
+            }
+            else
+            {
+                // The prediction was early, due to rounding
+                scheduleMelt(slot, cap);
+            }
+        }
+    }
+
+    @Override
+    public boolean isItemValid(int slot, ItemStack stack)
+    {
+        return stack.hasCapability(CapabilityForgeItem.CAPABILITY, null);
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound nbt)
+    {
+        temperature = nbt.getFloat("temp");
+        fuelTicksRemaining = nbt.getInteger("ticks");
+        savedTick = nbt.hasKey("savedTick") ? nbt.getLong("savedTick") : -1;
+
+        super.readFromNBT(nbt);
+    }
+
+    @Nonnull
+    @Override
+    public NBTTagCompound writeToNBT(NBTTagCompound nbt)
+    {
+        nbt.setFloat("temp", getTemperature());
+        nbt.setInteger("ticks", getFuelTicks());
+        if (world != null && !world.isRemote)
+        {
+            nbt.setLong("savedTick", TickTimer.getTicks(world));
+        }
+
+        return super.writeToNBT(nbt);
+    }
+
+    @Override
+    public boolean shouldRefresh(World world, BlockPos pos, IBlockState oldState, IBlockState newState)
+    {
+        return oldState.getBlock() != newState.getBlock();
+    }
+
+    /**
+     * The temperature this forge heats towards while lit
+     */
+    protected abstract float getMaxTemperature();
+
+    /**
+     * The change in the forge temperature per tick
+     */
+    protected abstract float getTemperatureModifier();
+
+    /**
+     * The fuel ticks used per tick
+     */
+    protected int getFuelPerTick()
+    {
+        return 1;
+    }
+
+    /**
+     * Called by the manager when this forge runs out of fuel
+     */
+    protected abstract void onFuelEmpty();
+
+    protected void setFuelTicks(int fuelTicks)
+    {
+        if (manager != null)
+        {
+            manager.setFuelTicks(handle, fuelTicks);
+        }
+        else
+        {
+            fuelTicksRemaining = fuelTicks;
+        }
+    }
+
+    protected void setTemperature(float temperature)
+    {
+        if (manager != null)
+        {
+            manager.setTemperature(handle, temperature);
+        }
+        else
+        {
+            this.temperature = temperature;
+        }
+    }
+
+    /**
+     * Updates the heating parameters, after the maximum temperature or fuel use has changed
+     */
+    protected void updateForge()
+    {
+        if (manager != null)
+        {
+            manager.setHeating(handle, getMaxTemperature(), getTemperatureModifier(), getFuelPerTick());
+        }
+        updateHeating();
+    }
+
+    /**
+     * Starts or stops heating each item. Item temperatures are computed on read, so this only needs to happen when the fuel or the items change
+     */
+    protected void updateHeating()
+    {
+        final boolean isLit = getFuelTicks() > 0;
+        for (int i = 0; i < heatedItems.length; i++)
+        {
+            updateHeating(i, isLit);
+        }
+    }
+
+    void setHandle(int handle)
+    {
+        this.handle = handle;
+    }
+
+    private void removeFromManager()
+    {
+        if (manager != null)
+        {
+            // Keep the last state, in case this is saved afterwards
+            fuelTicksRemaining = manager.getFuelTicks(handle);
+            temperature = manager.getTemperature(handle);
+            manager.remove(handle);
+            manager = null;
+        }
+    }
+
+    private void updateHeating(int slot, boolean isLit)
+    {
+        IForgeItem cap = inventory.getStackInSlot(slot + inputMin).getCapability(CapabilityForgeItem.CAPABILITY, null);
+        IForgeItem previous = heatedItems[slot];
+        if (previous != null && previous != cap)
+        {
+            previous.stopHeating();
+        }
+        heatedItems[slot] = cap;
+        meltTicks[slot] = -1;
+        if (cap != null)
+        {
+            if (isLit)
+            {
+                CapabilityForgeItem.startHeating(cap, getTemperatureModifier(), getTemperature(), getMaxTemperature());
+                scheduleMelt(slot, cap);
+            }
+            else
+            {
+                cap.stopHeating();
+            }
+        }
+    }
+
+    private void scheduleMelt(int slot, IForgeItem cap)
+    {
+        long ticks = cap.getTicksUntilMolten();
+        meltTicks[slot] = ticks < 0 ? -1 : ForgeMeltScheduler.schedule(this, slot, ticks);
+    }
+}
@@ -6,6 +6,8 @@
 
 package com.alcatrazescapee.tinkersforging.common.tile;
 
+import java.util.Arrays;
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -13,7 +15,11 @@ import net.minecraft.entity.item.EntityXPOrb;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.SoundEvents;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.play.server.SPacketUpdateTileEntity;
 import net.minecraft.util.SoundCategory;
+import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -21,6 +27,7 @@ import com.alcatrazescapee.alcatrazcore.tile.ITileFields;
 import com.alcatrazescapee.alcatrazcore.tile.TileInventory;
 import com.alcatrazescapee.alcatrazcore.util.CoreHelpers;
 import com.alcatrazescapee.alcatrazcore.util.collections.ImmutablePair;
+import com.alcatrazescapee.tinkersforging.DerivedConfig;
 import com.alcatrazescapee.tinkersforging.ModConfig;
 import com.alcatrazescapee.tinkersforging.TinkersForging;
 import com.alcatrazescapee.tinkersforging.common.blocks.BlockTinkersAnvil;
@@ -56,6 +63,9 @@ public class TileTinkersAnvil extends TileInventory implements ITileFields
     private ForgeRule[] rules;
     private int workingProgress = 0; // Min = 0, Max = 150. If it goes over / under you lose the input
     private int workingTarget = 0;
+    // The recipe id read from NBT. This is only looked up when the anvil is next used
+    private long recipeId = IForgeItem.NO_RECIPE;
+    private boolean isRecipeResolved = true;
 
     public TileTinkersAnvil()
     {
@@ -68,15 +78,17 @@ public class TileTinkersAnvil extends TileInventory implements ITileFields
     public AnvilRecipe getRecipe()
     {
         // Called on server
+        resolveRecipe();
         return cachedAnvilRecipe;
     }
 
     public void setRecipe(@Nullable AnvilRecipe recipe)
     {
         cachedAnvilRecipe = recipe;
+        isRecipeResolved = true;
 
         // update recipe-based fields (both sides)
-        // note on client the recipe is only a shallow copy of the actual recipe (it has no input paramaters)
+        // note on client the recipe is the copy from the synced recipe table
         if (recipe != null)
         {
             ItemStack stack = inventory.getStackInSlot(SLOT_INPUT);
@@ -102,6 +114,7 @@ public class TileTinkersAnvil extends TileInventory implements ITileFields
         if (world.isRemote)
             return;
 
+        resolveRecipe();
         ItemStack stack = inventory.getStackInSlot(SLOT_INPUT);
         IForgeItem cap = stack.getCapability(CapabilityForgeItem.CAPABILITY, null);
 
@@ -111,7 +124,7 @@ public class TileTinkersAnvil extends TileInventory implements ITileFields
             {
                 // no current recipe or recipe exists but doesn't match input
                 // in both cases, reset the recipe based off the stack info
-                updateRecipe(ModRecipes.ANVIL.getByName(cap.getRecipeName()));
+                updateRecipe(ModRecipes.ANVIL.getById(cap.getRecipeId()));
                 if (cachedAnvilRecipe == null)
                 {
                     // for some reason the stack has an invalid recipe name
@@ -133,10 +146,10 @@ public class TileTinkersAnvil extends TileInventory implements ITileFields
             // at this point, the recipe is valid, but may have changed
             // update server side fields
             workingProgress = cap.getWork();
-            steps = cap.getSteps().copy();
+            steps.setPacked(cap.getPackedSteps());
 
             workingTarget = cachedAnvilRecipe.getWorkingTarget(world.getSeed());
-            rules = cachedAnvilRecipe.getRules();
+            setRules(cachedAnvilRecipe.getRules());
 
             cap.setRecipe(cachedAnvilRecipe);
 
@@ -204,14 +217,32 @@ public class TileTinkersAnvil extends TileInventory implements ITileFields
 
     public void cycleForgeRecipe(boolean isForwards)
     {
-        // This is only called server side
-        if (cachedAnvilRecipe != null)
+        cycleForgeRecipe(isForwards ? 1 : -1);
+    }
+
+    /**
+     * Moves the recipe by a number of places, then updates once
+     *
+     * @param offset positive to cycle forwards, negative for backwards
+     */
+    public void cycleForgeRecipe(int offset)
+    {
+        if (world.isRemote)
+        {
+            // The recipe manager is shared with the integrated server, and the result is synced from the server anyway
+            return;
+        }
+        resolveRecipe();
+        if (cachedAnvilRecipe != null && offset != 0)
         {
             ItemStack stack = inventory.getStackInSlot(SLOT_INPUT);
-            if (isForwards)
-                cachedAnvilRecipe = ModRecipes.ANVIL.getNext(cachedAnvilRecipe, stack);
-            else
-                cachedAnvilRecipe = ModRecipes.ANVIL.getPrevious(cachedAnvilRecipe, stack);
+            for (int i = 0; i < Math.abs(offset) && cachedAnvilRecipe != null; i++)
+            {
+                if (offset > 0)
+                    cachedAnvilRecipe = ModRecipes.ANVIL.getNext(cachedAnvilRecipe, stack);
+                else
+                    cachedAnvilRecipe = ModRecipes.ANVIL.getPrevious(cachedAnvilRecipe, stack);
+            }
             setAndUpdateSlots(0);
         }
     }
@@ -219,6 +250,193 @@ public class TileTinkersAnvil extends TileInventory implements ITileFields
     public void addStep(@Nullable ForgeStep step)
     {
         // This is only called on server
+        resolveRecipe();
+        if (applyStep(step))
+        {
+            // update recipe
+            setAndUpdateSlots(0);
+        }
+    }
+
+    /**
+     * Applies a sequence of steps, with a single update at the end. Stops early if the input is completed or ruined
+     *
+     * @return the number of steps applied
+     */
+    public int addSteps(ForgeStep[] sequence, int count)
+    {
+        // This is only called on server
+        resolveRecipe();
+        int applied = 0;
+        while (applied < count)
+        {
+            final ItemStack input = inventory.getStackInSlot(SLOT_INPUT);
+            final boolean hadRecipe = cachedAnvilRecipe != null;
+            if (!applyStep(sequence[applied]))
+            {
+                break;
+            }
+            applied++;
+            if (inventory.getStackInSlot(SLOT_INPUT) != input || (hadRecipe && cachedAnvilRecipe == null) || workingProgress < IForgeItem.MIN_WORK || workingProgress >= IForgeItem.MAX_WORK)
+            {
+                // The input was completed or ruined, and the rest of the steps were meant for it
+                break;
+            }
+        }
+        if (applied > 0)
+        {
+            setAndUpdateSlots(0);
+        }
+        return applied;
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound nbt)
+    {
+        workingProgress = nbt.getInteger("progress");
+        workingTarget = nbt.getInteger("target");
+        if (nbt.hasKey("steps"))
+        {
+            steps.deserializeNBT(nbt.getCompoundTag("steps"));
+        }
+        else
+        {
+            steps.reset();
+        }
+
+        // Don't look up the recipe here, as this is called for every anvil in a chunk when it loads
+        recipeId = nbt.getLong("recipe");
+        cachedAnvilRecipe = null;
+        isRecipeResolved = false;
+
+        super.readFromNBT(nbt);
+    }
+
+    @Nonnull
+    @Override
+    public NBTTagCompound writeToNBT(NBTTagCompound nbt)
+    {
+        nbt.setInteger("progress", workingProgress);
+        nbt.setInteger("target", workingTarget);
+        nbt.setTag("steps", steps.serializeNBT());
+        if (isRecipeResolved)
+        {
+            nbt.setLong("recipe", cachedAnvilRecipe == null ? IForgeItem.NO_RECIPE : cachedAnvilRecipe.getId());
+        }
+        else
+        {
+            nbt.setLong("recipe", recipeId);
+        }
+
+        return super.writeToNBT(nbt);
+    }
+
+    @Nonnull
+    @Override
+    public NBTTagCompound getUpdateTag()
+    {
+        NBTTagCompound nbt = writeToNBT(new NBTTagCompound());
+        nbt.setInteger("recipeIndex", ModRecipes.ANVIL.getNetworkIndex(getRecipe()));
+        return nbt;
+    }
+
+    @Override
+    public void handleUpdateTag(NBTTagCompound nbt)
+    {
+        readFromNBT(nbt);
+
+        // The client uses the synced recipe table
+        cachedAnvilRecipe = ModRecipes.ANVIL.getClientRecipe(nbt.getInteger("recipeIndex"));
+        isRecipeResolved = true;
+        if (cachedAnvilRecipe != null)
+        {
+            setRules(cachedAnvilRecipe.getRules());
+        }
+    }
+
+    @Nullable
+    @Override
+    public SPacketUpdateTileEntity getUpdatePacket()
+    {
+        return new SPacketUpdateTileEntity(pos, 0, getUpdateTag());
+    }
+
+    @Override
+    public void onDataPacket(NetworkManager net, SPacketUpdateTileEntity packet)
+    {
+        handleUpdateTag(packet.getNbtCompound());
+    }
+
+    @SideOnly(Side.CLIENT)
+    public ForgeSteps getSteps()
+    {
+        return steps;
+    }
+
+    @Override
+    public int getFieldCount()
+    {
+        return 8;
+    }
+
+    @Override
+    public int getField(int ID)
+    {
+        switch (ID)
+        {
+            case FIELD_PROGRESS:
+                return workingProgress;
+            case FIELD_TARGET:
+                return workingTarget;
+            case FIELD_LAST_STEP:
+            case FIELD_SECOND_STEP:
+            case FIELD_THIRD_STEP:
+                return steps.getStepByID(ID);
+            case FIELD_FIRST_RULE:
+            case FIELD_SECOND_RULE:
+            case FIELD_THIRD_RULE:
+                if (ID - FIELD_FIRST_RULE >= rules.length)
+                    return -1;
+                return ForgeRule.getID(rules[ID - FIELD_FIRST_RULE]);
+            default:
+                TinkersForging.getLog().warn("Invalid field id {}", ID);
+                return 0;
+        }
+    }
+
+    @Override
+    public void setField(int ID, int value)
+    {
+        switch (ID)
+        {
+            case FIELD_PROGRESS:
+                workingProgress = value;
+                break;
+            case FIELD_TARGET:
+                workingTarget = value;
+                break;
+            case FIELD_LAST_STEP:
+            case FIELD_SECOND_STEP:
+            case FIELD_THIRD_STEP:
+                steps.setStep(ID, value);
+                break;
+            case FIELD_FIRST_RULE:
+            case FIELD_SECOND_RULE:
+            case FIELD_THIRD_RULE:
+                rules[ID - FIELD_FIRST_RULE] = ForgeRule.valueOf(value);
+                break;
+            default:
+                TinkersForging.getLog().warn("Invalid field id {}", ID);
+        }
+    }
+
+    /**
+     * Adds a step to the input and this anvil, and handles the recipe being completed or ruined. Does not update the slots
+     *
+     * @return true if the step was applied
+     */
+    private boolean applyStep(@Nullable ForgeStep step)
+    {
         ItemStack input = inventory.getStackInSlot(SLOT_INPUT);
         IForgeItem cap = input.getCapability(CapabilityForgeItem.CAPABILITY, null);
 
@@ -226,7 +444,7 @@ public class TileTinkersAnvil extends TileInventory implements ITileFields
         {
             // Add step to stack + tile
             cap.addStep(step);
-            steps = cap.getSteps().copy();
+            steps.setPacked(cap.getPackedSteps());
             if (step != null)
             {
                 workingProgress += step.getStepAmount();
@@ -235,7 +453,7 @@ public class TileTinkersAnvil extends TileInventory implements ITileFields
             // Handle possible recipe completion
             if (cachedAnvilRecipe != null)
             {
-                int targetRange = ModConfig.BALANCE.forgeTargetRange + (5 - cachedAnvilRecipe.getTier()) * ModConfig.BALANCE.forgeTierRangeMod;
+                int targetRange = DerivedConfig.getTargetRange(cachedAnvilRecipe.getTier());
                 if (Math.abs(workingProgress - workingTarget) <= targetRange && cachedAnvilRecipe.stepsMatch(steps))
                 {
                     ItemStack output = inventory.getStackInSlot(SLOT_OUTPUT);
@@ -299,86 +517,44 @@ public class TileTinkersAnvil extends TileInventory implements ITileFields
                     world.playSound(null, pos, SoundEvents.ENTITY_ITEM_BREAK, SoundCategory.PLAYERS, 1.0f, 1.0f);
                 }
             }
-
-            // update recipe
-            setAndUpdateSlots(0);
+            return true;
         }
+        return false;
     }
 
-    @Override
-    public void onLoad()
-    {
-        setAndUpdateSlots(0);
-    }
-
-    @SideOnly(Side.CLIENT)
-    public ForgeSteps getSteps()
+    private void updateRecipe(@Nullable AnvilRecipe recipe)
     {
-        return steps;
+        // Called on server
+        setRecipe(recipe);
+        // Only players tracking this chunk need to know about the recipe
+        TinkersForging.getNetwork().sendToAllTracking(new PacketAnvilRecipeUpdate(this), new NetworkRegistry.TargetPoint(world.provider.getDimension(), pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, 0));
     }
 
-    @Override
-    public int getFieldCount()
+    private void resolveRecipe()
     {
-        return 8;
-    }
-
-    @Override
-    public int getField(int ID)
-    {
-        switch (ID)
+        if (!isRecipeResolved)
         {
-            case FIELD_PROGRESS:
-                return workingProgress;
-            case FIELD_TARGET:
-                return workingTarget;
-            case FIELD_LAST_STEP:
-            case FIELD_SECOND_STEP:
-            case FIELD_THIRD_STEP:
-                return steps.getStepByID(ID);
-            case FIELD_FIRST_RULE:
-            case FIELD_SECOND_RULE:
-            case FIELD_THIRD_RULE:
-                if (ID - FIELD_FIRST_RULE >= rules.length)
-                    return -1;
-                return ForgeRule.getID(rules[ID - FIELD_FIRST_RULE]);
-            default:
-                TinkersForging.getLog().warn("Invalid field id {}", ID);
-                return 0;
+            isRecipeResolved = true;
+            cachedAnvilRecipe = ModRecipes.ANVIL.getById(recipeId);
+            if (cachedAnvilRecipe != null)
+            {
+                setRules(cachedAnvilRecipe.getRules());
+            }
         }
     }
 
-    @Override
-    public void setField(int ID, int value)
+    private void setRules(ForgeRule[] recipeRules)
     {
-        switch (ID)
+        if (world != null && !world.isRemote)
         {
-            case FIELD_PROGRESS:
-                workingProgress = value;
-                break;
-            case FIELD_TARGET:
-                workingTarget = value;
-                break;
-            case FIELD_LAST_STEP:
-            case FIELD_SECOND_STEP:
-            case FIELD_THIRD_STEP:
-                steps.setStep(ID, value);
-                break;
-            case FIELD_FIRST_RULE:
-            case FIELD_SECOND_RULE:
-            case FIELD_THIRD_RULE:
-                rules[ID - FIELD_FIRST_RULE] = ForgeRule.valueOf(value);
-                break;
-            default:
-                TinkersForging.getLog().warn("Invalid field id {}", ID);
+            // Only read on server, so this can share the recipe's array
+            rules = recipeRules;
+        }
+        else
+        {
+            // The client writes every rule field into its array when synced, so it needs its own copy with room for all of them
+            rules = Arrays.copyOf(recipeRules, FIELD_THIRD_RULE - FIELD_FIRST_RULE + 1);
         }
-    }
-
-    private void updateRecipe(@Nullable AnvilRecipe recipe)
-    {
-        // Called on server
-        setRecipe(recipe);
-        TinkersForging.getNetwork().sendToDimension(new PacketAnvilRecipeUpdate(this), world.provider.getDimension());
     }
 
     private void resetFields()
@@ -6,17 +6,58 @@
 
 package com.alcatrazescapee.tinkersforging.util;
 
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+
+/**
+ * Tick clocks, one for the server and one for the client world.
+ * All server dimensions share the overworld's total world time, so a single server clock is valid for every dimension, including unloaded ones.
+ */
 public final class TickTimer
 {
-    private static long ticks;
+    // Written by the thread which ticks the world, and read from any thread
+    private static volatile long clientTicks;
+    private static volatile long serverTicks;
+
+    // A dedicated server only has the server clock, whichever thread reads it. The effective side is only checked once per thread
+    private static final ThreadLocal<Boolean> IS_CLIENT_THREAD = ThreadLocal.withInitial(() -> FMLCommonHandler.instance().getSide().isClient() && FMLCommonHandler.instance().getEffectiveSide().isClient());
 
+    /**
+     * @return the current tick of the clock for the current thread
+     */
     public static long getTicks()
     {
-        return ticks;
+        return isClientThread() ? clientTicks : serverTicks;
+    }
+
+    public static long getTicks(World world)
+    {
+        return world.isRemote ? clientTicks : serverTicks;
+    }
+
+    /**
+     * @return true if the current thread reads the client clock
+     */
+    public static boolean isClientThread()
+    {
+        return IS_CLIENT_THREAD.get();
+    }
+
+    public static void update(World world)
+    {
+        if (world.isRemote)
+        {
+            clientTicks = world.getTotalWorldTime();
+        }
+        else
+        {
+            serverTicks = world.getTotalWorldTime();
+        }
     }
 
-    public static void update(long worldTicks)
+    public static void reset()
     {
-        ticks = worldTicks;
+        clientTicks = 0;
+        serverTicks = 0;
     }
 }
@@ -49,6 +49,19 @@ public enum ForgeRule
 
     private static final ForgeRule[] values = values();
 
+    /**
+     * The number of possible packed step values. See {@link ForgeSteps}
+     */
+    static final int TABLE_SIZE = 1 << (3 * ForgeSteps.BITS_PER_STEP);
+
+    static
+    {
+        for (ForgeRule rule : values)
+        {
+            rule.matchTable = rule.compile();
+        }
+    }
+
     public static int getID(@Nullable ForgeRule rule)
     {
         return rule == null ? -1 : rule.ordinal();
@@ -66,6 +79,9 @@ public enum ForgeRule
     private final Order order;
     private final ForgeStep type;
 
+    // A bitset over all packed step values, which is set if this rule matches those steps
+    private long[] matchTable;
+
     ForgeRule(@Nonnull Order order, @Nonnull ForgeStep type)
     {
         this.order = order;
@@ -84,6 +100,37 @@ public enum ForgeRule
     }
 
     public boolean matches(@Nonnull ForgeSteps steps)
+    {
+        final int packed = steps.getPacked();
+        return (matchTable[packed >>> 6] & (1L << packed)) != 0;
+    }
+
+    long[] getMatchTable()
+    {
+        return matchTable;
+    }
+
+    private long[] compile()
+    {
+        final long[] table = new long[TABLE_SIZE / 64];
+        final ForgeSteps steps = new ForgeSteps();
+        for (int packed = 0; packed < TABLE_SIZE; packed++)
+        {
+            steps.reset();
+            for (int i = 0; i < 3; i++)
+            {
+                // Add the oldest step first
+                steps.addStep(ForgeStep.valueOf(((packed >>> (i * ForgeSteps.BITS_PER_STEP)) & ForgeSteps.STEP_MASK) - 1));
+            }
+            if (steps.getPacked() == packed && matchesSteps(steps))
+            {
+                table[packed >>> 6] |= 1L << packed;
+            }
+        }
+        return table;
+    }
+
+    private boolean matchesSteps(@Nonnull ForgeSteps steps)
     {
         switch (this.order)
         {
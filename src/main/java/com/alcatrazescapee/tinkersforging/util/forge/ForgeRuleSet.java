@@ -0,0 +1,56 @@
+/*
+ * Part of the Tinkers Forging Mod by alcatrazEscapee
+ * Work under Copyright. Licensed under the GPL-3.0.
+ * See the project LICENSE.md for more information.
+ */
+
+package com.alcatrazescapee.tinkersforging.util.forge;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A set of rules compiled into a single bitset over all packed step values, so checking if steps match all the rules is a single bit test.
+ * These are shared between all recipes with the same rules.
+ */
+@ParametersAreNonnullByDefault
+public final class ForgeRuleSet
+{
+    // Recipes can be created on the network thread (when the client receives the recipe table)
+    private static final Map<List<ForgeRule>, ForgeRuleSet> CACHE = new ConcurrentHashMap<>();
+
+    @Nonnull
+    public static ForgeRuleSet of(ForgeRule... rules)
+    {
+        return CACHE.computeIfAbsent(Arrays.asList(rules.clone()), ForgeRuleSet::new);
+    }
+
+    private final long[] matchTable;
+
+    private ForgeRuleSet(List<ForgeRule> rules)
+    {
+        matchTable = new long[ForgeRule.TABLE_SIZE / 64];
+        Arrays.fill(matchTable, -1L);
+        for (ForgeRule rule : rules)
+        {
+            if (rule != null)
+            {
+                long[] ruleTable = rule.getMatchTable();
+                for (int i = 0; i < matchTable.length; i++)
+                {
+                    matchTable[i] &= ruleTable[i];
+                }
+            }
+        }
+    }
+
+    public boolean matches(ForgeSteps steps)
+    {
+        final int packed = steps.getPacked();
+        return (matchTable[packed >>> 6] & (1L << packed)) != 0;
+    }
+}
@@ -6,7 +6,6 @@
 
 package com.alcatrazescapee.tinkersforging.util.forge;
 
-import java.util.LinkedList;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -16,34 +15,46 @@ import net.minecraftforge.common.util.INBTSerializable;
 
 import static com.alcatrazescapee.tinkersforging.common.tile.TileTinkersAnvil.*;
 
+/**
+ * The last three steps, packed into a single int. Each step takes four bits, storing (ordinal + 1), or zero for no step.
+ * Index 0 (the lowest bits) is the oldest step, and index 2 is the most recent.
+ */
 @ParametersAreNonnullByDefault
 public class ForgeSteps implements INBTSerializable<NBTTagCompound>
 {
-    private final LinkedList<ForgeStep> steps;
+    static final int BITS_PER_STEP = 4;
+    static final int STEP_MASK = 0xF;
+
+    static int encode(@Nullable ForgeStep step)
+    {
+        return step == null ? 0 : step.ordinal() + 1;
+    }
+
+    private int steps;
 
     public ForgeSteps()
     {
-        steps = new LinkedList<>();
         reset();
     }
 
+    private ForgeSteps(int steps)
+    {
+        this.steps = steps;
+    }
+
     public void reset()
     {
-        for (int i = 0; i < 3; i++) addStep(null);
+        steps = 0;
     }
 
     public boolean isEmpty()
     {
-        return steps.get(0) == null && steps.get(1) == null && steps.get(2) == null;
+        return steps == 0;
     }
 
     public void addStep(@Nullable ForgeStep step)
     {
-        steps.add(step);
-        while (steps.size() > 3)
-        {
-            steps.remove();
-        }
+        steps = (steps >>> BITS_PER_STEP) | (encode(step) << (2 * BITS_PER_STEP));
     }
 
     public int getStepByID(int id)
@@ -66,11 +77,14 @@ public class ForgeSteps implements INBTSerializable<NBTTagCompound>
         switch (position)
         {
             case FIELD_LAST_STEP:
-                steps.set(0, ForgeStep.valueOf(step));
+                setStepInt(0, step);
+                break;
             case FIELD_SECOND_STEP:
-                steps.set(1, ForgeStep.valueOf(step));
+                setStepInt(1, step);
+                break;
             case FIELD_THIRD_STEP:
-                steps.set(2, ForgeStep.valueOf(step));
+                setStepInt(2, step);
+                break;
         }
     }
 
@@ -96,23 +110,46 @@ public class ForgeSteps implements INBTSerializable<NBTTagCompound>
         }
     }
 
+    /**
+     * Copies the steps from another instance into this one, without allocating
+     */
+    public void set(ForgeSteps other)
+    {
+        this.steps = other.steps;
+    }
+
+    public ForgeSteps copy()
+    {
+        return new ForgeSteps(steps);
+    }
+
+    /**
+     * @return the packed steps, see the class comment. Used for matching and network sync
+     */
+    public int getPacked()
+    {
+        return steps;
+    }
+
+    public void setPacked(int steps)
+    {
+        this.steps = steps;
+    }
+
     @Nullable
     ForgeStep getStep(int idx)
     {
-        return steps.get(idx);
+        return ForgeStep.valueOf(getStepInt(idx));
     }
 
     private int getStepInt(int idx)
     {
-        ForgeStep step = steps.get(idx);
-        return step == null ? -1 : step.ordinal();
+        return ((steps >>> (idx * BITS_PER_STEP)) & STEP_MASK) - 1;
     }
 
-    public ForgeSteps copy()
+    private void setStepInt(int idx, int step)
     {
-        ForgeSteps newSteps = new ForgeSteps();
-        for (ForgeStep step : this.steps)
-            newSteps.addStep(step);
-        return newSteps;
+        int shift = idx * BITS_PER_STEP;
+        steps = (steps & ~(STEP_MASK << shift)) | (encode(ForgeStep.valueOf(step)) << shift);
     }
 }